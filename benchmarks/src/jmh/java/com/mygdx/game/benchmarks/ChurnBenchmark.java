@@ -0,0 +1,57 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.mygdx.game.Enemy;
+import com.mygdx.game.EntityStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Spawn and removal churn: each operation spawns a tenth of the population and removes the same
+ * number of randomly chosen entities, so the store stays at a steady size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+public class ChurnBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int entities;
+
+    private WorldFixture fixture;
+    private EntityStore enemies;
+    private int batch;
+    private int seed = 42;
+    private final RandomXS128 random = new RandomXS128(42);
+
+    @Setup
+    public void setUp() {
+        fixture = new WorldFixture(entities, 0, 42);
+        enemies = new EntityStore(entities * 2);
+        fixture.fillEnemies(enemies);
+        batch = Math.max(1, entities / 10);
+    }
+
+    @Benchmark
+    public int spawnAndRemove() {
+        float playerX = fixture.config.playerStartX, playerY = fixture.config.playerStartY;
+        for (int k = 0; k < batch; k++) {
+            Enemy.spawn(enemies, random, fixture.walls, fixture.flowField, fixture.config.enemyWidth,
+                    fixture.config.enemyHeight, playerX, playerY, fixture.config.spawnWidth, fixture.config.spawnHeight);
+        }
+        for (int k = 0; k < batch; k++) {
+            enemies.remove(nextInt(enemies.size));
+        }
+        return enemies.size;
+    }
+
+    private int nextInt(int bound) {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return (seed & Integer.MAX_VALUE) % bound;
+    }
+}
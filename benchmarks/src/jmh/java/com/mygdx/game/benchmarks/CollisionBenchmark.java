@@ -0,0 +1,68 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.EntityStore;
+import com.mygdx.game.SpatialHash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Star-versus-enemy overlap resolution: the spatial hash broadphase used by World
+ * against the all-pairs loop it replaced. Both count overlapping pairs without removing anything,
+ * so every invocation sees the same layout.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+public class CollisionBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int entities;
+
+    private EntityStore enemies;
+    private EntityStore stars;
+    private SpatialHash hash;
+    private final IntArray candidates = new IntArray();
+
+    @Setup
+    public void setUp() {
+        WorldFixture fixture = new WorldFixture(entities, Math.max(1, entities / 4), 42);
+        enemies = new EntityStore(entities);
+        stars = new EntityStore(entities);
+        fixture.fillEnemies(enemies);
+        fixture.fillStars(stars);
+        hash = new SpatialHash(Math.max(fixture.config.enemyWidth, fixture.config.enemyHeight), 1024);
+    }
+
+    @Benchmark
+    public int spatialHash() {
+        hash.clear();
+        for (int i = 0; i < enemies.size; i++) {
+            hash.insert(i, enemies.x[i], enemies.y[i], enemies.width[i], enemies.height[i]);
+        }
+        int hits = 0;
+        for (int j = 0; j < stars.size; j++) {
+            hash.query(stars.x[j], stars.y[j], stars.width[j], stars.height[j], candidates);
+            hits += candidates.size;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        int hits = 0;
+        for (int j = 0; j < stars.size; j++) {
+            float sx = stars.x[j], sy = stars.y[j], sw = stars.width[j], sh = stars.height[j];
+            for (int i = 0; i < enemies.size; i++) {
+                if (enemies.x[i] < sx + sw && enemies.x[i] + enemies.width[i] > sx
+                        && enemies.y[i] < sy + sh && enemies.y[i] + enemies.height[i] > sy) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.Enemy;
+import com.mygdx.game.EntityStore;
+import com.mygdx.game.Star;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of the per-entity movement systems on their own: enemy steering along the flow field
+ * with wall sweeps, and star movement with wall raycasts.
+ * Each invocation runs {@link WorldFixture#BATCH_TICKS} ticks from freshly restored stores and
+ * reports the time per tick, so the workload neither drains nor piles up over an iteration.
+ * Stars are moved with {@link Star#move} rather than Star.update, which removes stars that hit a wall
+ * and would empty the store within the first iterations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+public class EntityUpdateBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int entities;
+
+    private WorldFixture fixture;
+    private EntityStore enemies;
+    private EntityStore stars;
+    private boolean[] hits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new WorldFixture(entities, entities, 42);
+        enemies = new EntityStore(entities);
+        stars = new EntityStore(entities);
+        hits = new boolean[entities];
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        fixture.fillEnemies(enemies);
+        fixture.fillStars(stars);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WorldFixture.BATCH_TICKS)
+    public float enemySteering() {
+        for (int t = 0; t < WorldFixture.BATCH_TICKS; t++) {
+            Enemy.update(enemies, fixture.walls, fixture.flowField, WorldFixture.TICK,
+                    fixture.config.playerStartX, fixture.config.playerStartY);
+        }
+        return enemies.x[0];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WorldFixture.BATCH_TICKS)
+    public float starIntegration() {
+        // Moves without removing, so stars that reach a wall keep being raycast instead of emptying the store.
+        for (int t = 0; t < WorldFixture.BATCH_TICKS; t++) {
+            Star.move(stars, fixture.walls, WorldFixture.TICK, hits, 0, stars.size);
+        }
+        return stars.x[0];
+    }
+}
@@ -0,0 +1,71 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.ParallelUpdater;
+import com.mygdx.game.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Serial against fork-join world ticks per entity count and worker count. The smallest count at which
+ * parallelTick beats serialTick is the threshold to hand to {@link ParallelUpdater}; the desktop
+ * launcher takes it as --parallel-threshold in place of the quicker {@link ParallelUpdater#calibrate} it
+ * otherwise runs at startup. Workers are a parameter rather than the machine's core
+ * count, so a run on a small machine still compares against a real split; parallelism above the
+ * core count only measures the overhead of oversubscription.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+public class ParallelUpdateBenchmark {
+    @Param({"100", "300", "1000", "3000", "10000"})
+    public int entities;
+    @Param({"2", "4", "8"})
+    public int parallelism;
+
+    private WorldFixture fixture;
+    private World serialWorld;
+    private World parallelWorld;
+    private ParallelUpdater updater;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new WorldFixture(entities, Math.max(1, entities / 4), 42);
+        serialWorld = new World(fixture.config);
+        parallelWorld = new World(fixture.config);
+        // A threshold of 0 forces every tick onto the pool, whatever the entity count.
+        updater = new ParallelUpdater(parallelism, 0);
+        parallelWorld.setParallelUpdater(updater);
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        fixture.restore(serialWorld);
+        fixture.restore(parallelWorld);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        updater.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WorldFixture.BATCH_TICKS)
+    public int serialTick() {
+        for (int i = 0; i < WorldFixture.BATCH_TICKS; i++) serialWorld.update(WorldFixture.TICK, 0, 0);
+        return serialWorld.enemies.size;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WorldFixture.BATCH_TICKS)
+    public int parallelTick() {
+        for (int i = 0; i < WorldFixture.BATCH_TICKS; i++) parallelWorld.update(WorldFixture.TICK, 0, 0);
+        return parallelWorld.enemies.size;
+    }
+}
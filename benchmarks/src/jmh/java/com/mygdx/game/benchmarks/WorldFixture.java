@@ -0,0 +1,94 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.CollisionGrid;
+import com.mygdx.game.EntityStore;
+import com.mygdx.game.FlowField;
+import com.mygdx.game.GameScreen;
+import com.mygdx.game.Star;
+import com.mygdx.game.World;
+import com.mygdx.game.WorldConfig;
+
+import java.util.Random;
+
+/**
+ * Deterministic world contents shared by the benchmarks.
+ * Enemies are scattered over the world but kept away from the player, so a world restored
+ * from the fixture never ends within a tick; stars fly in random directions.
+ * Restoring reuses the stores' arrays and does not allocate.
+ */
+final class WorldFixture {
+    static final float TICK = 1f / GameScreen.DEFAULT_TICK_RATE;
+    /**
+     * Ticks a benchmark runs per invocation before the fixture is restored: one second of play.
+     * Within it no enemy reaches the player and no spawn is due, so every batch does the same work,
+     * and restoring once per batch keeps JMH's per-invocation overhead small next to the ticks.
+     */
+    static final int BATCH_TICKS = 60;
+    private static final float PLAYER_CLEARANCE = 600f;
+
+    final WorldConfig config = new WorldConfig();
+    /** Open grid with the world's size, so movement pays for wall queries without being blocked. */
+    final CollisionGrid walls = CollisionGrid.open(config.worldWidth, config.worldHeight, 64f);
+    /** Field toward the player's start position. */
+    final FlowField flowField = new FlowField(walls, config.enemyWidth, config.enemyHeight);
+    private final float[] enemyX;
+    private final float[] enemyY;
+    private final float[] starX;
+    private final float[] starY;
+    private final float[] starTargetX;
+    private final float[] starTargetY;
+
+    WorldFixture(int enemyCount, int starCount, long seed) {
+        flowField.setTarget(flowField.tileOf(config.playerStartX, config.playerStartY, config.playerWidth));
+        flowField.finish();
+
+        Random random = new Random(seed);
+        enemyX = new float[enemyCount];
+        enemyY = new float[enemyCount];
+        float playerX = config.playerStartX, playerY = config.playerStartY;
+        for (int i = 0; i < enemyCount; i++) {
+            float x, y;
+            do {
+                x = random.nextFloat() * (config.worldWidth - config.enemyWidth);
+                y = random.nextFloat() * (config.worldHeight - config.enemyHeight);
+            } while (Math.hypot(x - playerX, y - playerY) < PLAYER_CLEARANCE);
+            enemyX[i] = x;
+            enemyY[i] = y;
+        }
+
+        starX = new float[starCount];
+        starY = new float[starCount];
+        starTargetX = new float[starCount];
+        starTargetY = new float[starCount];
+        for (int i = 0; i < starCount; i++) {
+            starX[i] = random.nextFloat() * config.worldWidth;
+            starY[i] = random.nextFloat() * config.worldHeight;
+            starTargetX[i] = random.nextFloat() * config.worldWidth;
+            starTargetY[i] = random.nextFloat() * config.worldHeight;
+        }
+    }
+
+    /**
+     * Resets the world to a fresh run, so the tick count, spawn timer, status and flow field
+     * never carry over from earlier batches, then replaces its enemies and stars with the fixture contents.
+     */
+    void restore(World world) {
+        world.reset();
+        fillEnemies(world.enemies);
+        fillStars(world.stars);
+    }
+
+    void fillEnemies(EntityStore enemies) {
+        enemies.clear();
+        for (int i = 0; i < enemyX.length; i++) {
+            enemies.add(enemyX[i], enemyY[i], config.enemyWidth, config.enemyHeight);
+        }
+    }
+
+    void fillStars(EntityStore stars) {
+        stars.clear();
+        for (int i = 0; i < starX.length; i++) {
+            Star.spawn(stars, starX[i], starY[i], starTargetX[i], starTargetY[i], config.starWidth, config.starHeight);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of one full gameplay tick: spawning, enemy steering, star integration, collisions and goal check.
+ * Each invocation runs a batch of ticks from a freshly restored world, so every batch does the same
+ * work and the per-invocation setup stays small next to what is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+public class WorldTickBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int entities;
+
+    private WorldFixture fixture;
+    private World world;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new WorldFixture(entities, Math.max(1, entities / 4), 42);
+        world = new World(fixture.config);
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        fixture.restore(world);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WorldFixture.BATCH_TICKS)
+    public int tick() {
+        for (int i = 0; i < WorldFixture.BATCH_TICKS; i++) world.update(WorldFixture.TICK, 0, 0);
+        return world.enemies.size;
+    }
+}
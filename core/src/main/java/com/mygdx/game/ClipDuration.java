@@ -0,0 +1,166 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Reads how long an audio file plays from its headers, without decoding any samples. Sound does not
+ * report the length of its clip, so {@link SoundEffects} is given this instead of a hand-measured value.
+ * Covers the formats the game ships: WAV and MP3 sources, and the Ogg Vorbis files the transcodeAudio
+ * build step makes from them. Files are read as streams, so assets inside an APK work as well.
+ */
+public final class ClipDuration {
+    private static final int RIFF = 0x52494646, WAVE = 0x57415645, FMT = 0x666d7420, DATA = 0x64617461;
+    private static final int ID3 = 0x494433, OGG_PAGE = 0x4f676753;
+    private static final int[] MPEG1_BITRATES = {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320};
+    private static final int[] MPEG2_BITRATES = {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160};
+    private static final int[] SAMPLE_RATES = {44100, 48000, 32000};
+
+    private ClipDuration() {}
+
+    /**
+     * @param file A .wav, .mp3 or .ogg file.
+     * @return Playing time in seconds.
+     */
+    public static float seconds(FileHandle file) {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()));
+        try {
+            String extension = file.extension().toLowerCase();
+            if (extension.equals("wav")) return wav(in);
+            if (extension.equals("mp3")) return mp3(in);
+            if (extension.equals("ogg")) return ogg(in);
+            throw new GdxRuntimeException("Unsupported audio format " + file);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot read audio header " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    /** Size of the data chunk over the byte rate from the fmt chunk. */
+    private static float wav(DataInputStream in) throws IOException {
+        if (in.readInt() != RIFF) throw new GdxRuntimeException("Not a RIFF file");
+        skip(in, 4);
+        if (in.readInt() != WAVE) throw new GdxRuntimeException("Not a WAVE file");
+        int byteRate = 0;
+        while (true) {
+            int id = in.readInt();
+            long size = Integer.reverseBytes(in.readInt()) & 0xffffffffL;
+            if (id == DATA) {
+                if (byteRate <= 0) throw new GdxRuntimeException("WAVE data before its format");
+                return (float) size / byteRate;
+            }
+            if (id == FMT) {
+                skip(in, 8);
+                byteRate = Integer.reverseBytes(in.readInt());
+                size -= 12;
+            }
+            // Chunks are padded to an even size.
+            skip(in, size + (size & 1));
+        }
+    }
+
+    /** Sum of the frames' lengths, so variable bitrate files are timed as exactly as constant ones. */
+    private static float mp3(DataInputStream in) throws IOException {
+        double seconds = 0;
+        int header = in.readInt();
+        if (header >>> 8 == ID3) {
+            in.readUnsignedByte();
+            int flags = in.readUnsignedByte();
+            // Four bytes of seven bits each; the size leaves out the header and the optional footer.
+            int size = 0;
+            for (int i = 0; i < 4; i++) size = size << 7 | (in.readUnsignedByte() & 0x7f);
+            skip(in, size + ((flags & 0x10) != 0 ? 10 : 0));
+            header = in.readInt();
+        }
+        try {
+            while (true) {
+                int frameBytes = frameBytes(header);
+                if (frameBytes == 0) {
+                    // Not a frame header, e.g. a trailing tag: slide forward a byte at a time until frames resume.
+                    header = header << 8 | in.readUnsignedByte();
+                    continue;
+                }
+                skip(in, frameBytes - 4);
+                seconds += (double) samplesPerFrame(header) / sampleRate(header);
+                header = in.readInt();
+            }
+        } catch (EOFException e) {
+            // The last complete frame has been counted.
+        }
+        return (float) seconds;
+    }
+
+    /**
+     * @return Bytes in the Layer III frame the header starts, or 0 if it is not a valid frame header.
+     */
+    private static int frameBytes(int header) {
+        if (header >>> 21 != 0x7ff) return 0;
+        int version = (header >>> 19) & 3, layer = (header >>> 17) & 3;
+        int bitrateIndex = (header >>> 12) & 15, rateIndex = (header >>> 10) & 3;
+        if (version == 1 || layer != 1 || bitrateIndex == 0 || bitrateIndex == 15 || rateIndex == 3) return 0;
+        int bitrate = (version == 3 ? MPEG1_BITRATES : MPEG2_BITRATES)[bitrateIndex] * 1000;
+        return samplesPerFrame(header) / 8 * bitrate / sampleRate(header) + ((header >>> 9) & 1);
+    }
+
+    private static int samplesPerFrame(int header) {
+        return ((header >>> 19) & 3) == 3 ? 1152 : 576;
+    }
+
+    /** MPEG 1 rates, halved for MPEG 2 and quartered for MPEG 2.5. */
+    private static int sampleRate(int header) {
+        int version = (header >>> 19) & 3;
+        return SAMPLE_RATES[(header >>> 10) & 3] >> (version == 3 ? 0 : version == 2 ? 1 : 2);
+    }
+
+    /** Sample position of the last page over the sample rate from the identification header. */
+    private static float ogg(DataInputStream in) throws IOException {
+        int sampleRate = 0;
+        long granule = 0;
+        byte[] segments = new byte[255];
+        try {
+            while (true) {
+                if (in.readInt() != OGG_PAGE) throw new GdxRuntimeException("Not an Ogg page");
+                skip(in, 2);
+                long position = Long.reverseBytes(in.readLong());
+                skip(in, 12);
+                int segmentCount = in.readUnsignedByte();
+                in.readFully(segments, 0, segmentCount);
+                int bodyBytes = 0;
+                for (int i = 0; i < segmentCount; i++) bodyBytes += segments[i] & 0xff;
+                if (sampleRate == 0) {
+                    // The first page holds the identification packet: type 1, "vorbis", version, channels, rate.
+                    if (in.readUnsignedByte() != 1) throw new GdxRuntimeException("Not Ogg Vorbis");
+                    skip(in, 6 + 4 + 1);
+                    sampleRate = Integer.reverseBytes(in.readInt());
+                    bodyBytes -= 1 + 6 + 4 + 1 + 4;
+                }
+                // Pages on which no packet ends carry -1.
+                if (position >= 0) granule = position;
+                skip(in, bodyBytes);
+            }
+        } catch (EOFException e) {
+            // Past the last page.
+        }
+        if (sampleRate <= 0) throw new GdxRuntimeException("Ogg Vorbis without a sample rate");
+        return (float) granule / sampleRate;
+    }
+
+    private static void skip(DataInputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                // skip() may stop short before the end; read() tells the two apart.
+                if (in.read() < 0) throw new EOFException();
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Solid tiles of the maze as one bit per tile.
+ * Boxes move through it with axis-separated sweeps, and fast projectiles are traced with a
+ * grid DDA raycast, so the cost depends on the tiles crossed rather than the number of walls.
+ * Everything outside the grid counts as solid. Queries do not allocate.
+ */
+public class CollisionGrid {
+    /** Slack in world units, so boxes resting flush against a wall are not treated as inside it. */
+    private static final float EPSILON = 1e-3f;
+
+    public final int columns;
+    public final int rows;
+    public final float tileWidth;
+    public final float tileHeight;
+
+    private final long[] bits;
+
+    /**
+     * Creates a grid without any solid tiles.
+     * @param tileWidth World width of one tile.
+     * @param tileHeight World height of one tile.
+     */
+    public CollisionGrid(int columns, int rows, float tileWidth, float tileHeight) {
+        this.columns = columns;
+        this.rows = rows;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        bits = new long[(columns * rows + 63) >>> 6];
+    }
+
+    /**
+     * @return Hash of the grid's size and solid tiles; grids that hash alike hold the same walls.
+     */
+    public long contentHash() {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + columns;
+        hash = 31 * hash + rows;
+        hash = 31 * hash + Float.floatToIntBits(tileWidth);
+        hash = 31 * hash + Float.floatToIntBits(tileHeight);
+        for (long word : bits) hash = 31 * hash + word;
+        return hash;
+    }
+
+    /**
+     * Creates an open grid covering a world, which only blocks its borders.
+     */
+    public static CollisionGrid open(float worldWidth, float worldHeight, float tileSize) {
+        return new CollisionGrid(MathUtils.ceil(worldWidth / tileSize), MathUtils.ceil(worldHeight / tileSize),
+                tileSize, tileSize);
+    }
+
+    /**
+     * Marks every tile that is set in any of the given layers as solid.
+     * @param scale World units per map pixel, as used for drawing the map.
+     * @param layerNames Names of the layers that block movement.
+     */
+    public static CollisionGrid fromMap(TileMap map, float scale, String... layerNames) {
+        CollisionGrid grid = new CollisionGrid(map.width, map.height, map.tileWidth * scale, map.tileHeight * scale);
+        for (String name : layerNames) {
+            TileMap.Layer layer = map.getLayer(name);
+            if (layer == null) throw new GdxRuntimeException("Map has no layer named " + name);
+            for (int i = 0; i < layer.gids.length; i++) {
+                if (layer.gids[i] != 0) grid.bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @return Whether a tile blocks movement; tiles outside the grid always do.
+     */
+    public boolean isSolid(int column, int row) {
+        if (column < 0 || row < 0 || column >= columns || row >= rows) return true;
+        int i = row * columns + column;
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public void setSolid(int column, int row, boolean solid) {
+        int i = row * columns + column;
+        if (solid) bits[i >>> 6] |= 1L << i;
+        else bits[i >>> 6] &= ~(1L << i);
+    }
+
+    /**
+     * @return Whether any solid tile overlaps the box.
+     */
+    public boolean overlaps(float x, float y, float width, float height) {
+        int firstColumn = column(x + EPSILON), lastColumn = column(x + width - EPSILON);
+        int firstRow = row(y + EPSILON), lastRow = row(y + height - EPSILON);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (isSolid(column, row)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves a box horizontally until it touches a solid tile.
+     * The box must not overlap a solid tile when the sweep starts.
+     * @param dx Requested horizontal movement.
+     * @return Movement that keeps the box out of solid tiles, between 0 and dx.
+     */
+    public float sweepX(float x, float y, float width, float height, float dx) {
+        if (dx == 0) return 0;
+        int firstRow = row(y + EPSILON), lastRow = row(y + height - EPSILON);
+        if (dx > 0) {
+            int from = column(x + width - EPSILON), to = column(x + width + dx - EPSILON);
+            for (int column = from + 1; column <= to; column++) {
+                if (columnBlocked(column, firstRow, lastRow)) return Math.max(0, column * tileWidth - (x + width));
+            }
+        } else {
+            int from = column(x + EPSILON), to = column(x + dx + EPSILON);
+            for (int column = from - 1; column >= to; column--) {
+                if (columnBlocked(column, firstRow, lastRow)) return Math.min(0, (column + 1) * tileWidth - x);
+            }
+        }
+        return dx;
+    }
+
+    /**
+     * Moves a box vertically until it touches a solid tile.
+     * The box must not overlap a solid tile when the sweep starts.
+     * @param dy Requested vertical movement.
+     * @return Movement that keeps the box out of solid tiles, between 0 and dy.
+     */
+    public float sweepY(float x, float y, float width, float height, float dy) {
+        if (dy == 0) return 0;
+        int firstColumn = column(x + EPSILON), lastColumn = column(x + width - EPSILON);
+        if (dy > 0) {
+            int from = row(y + height - EPSILON), to = row(y + height + dy - EPSILON);
+            for (int row = from + 1; row <= to; row++) {
+                if (rowBlocked(row, firstColumn, lastColumn)) return Math.max(0, row * tileHeight - (y + height));
+            }
+        } else {
+            int from = row(y + EPSILON), to = row(y + dy + EPSILON);
+            for (int row = from - 1; row >= to; row--) {
+                if (rowBlocked(row, firstColumn, lastColumn)) return Math.min(0, (row + 1) * tileHeight - y);
+            }
+        }
+        return dy;
+    }
+
+    /**
+     * Walks the tiles a segment crosses, in order, and stops at the first solid one.
+     * @return Fraction of the segment at which it enters a solid tile, 0 if it starts in one, or -1 if it stays clear.
+     */
+    public float raycast(float x0, float y0, float x1, float y1) {
+        int column = column(x0), row = row(y0);
+        if (isSolid(column, row)) return 0;
+        int lastColumn = column(x1), lastRow = row(y1);
+        float dx = x1 - x0, dy = y1 - y0;
+        int stepColumn = dx > 0 ? 1 : -1, stepRow = dy > 0 ? 1 : -1;
+        // Fraction of the segment needed to cross one tile, and to reach the next tile border, per axis.
+        float deltaX = dx != 0 ? Math.abs(tileWidth / dx) : Float.POSITIVE_INFINITY;
+        float deltaY = dy != 0 ? Math.abs(tileHeight / dy) : Float.POSITIVE_INFINITY;
+        float nextX = dx != 0 ? ((dx > 0 ? column + 1 : column) * tileWidth - x0) / dx : Float.POSITIVE_INFINITY;
+        float nextY = dy != 0 ? ((dy > 0 ? row + 1 : row) * tileHeight - y0) / dy : Float.POSITIVE_INFINITY;
+
+        while (column != lastColumn || row != lastRow) {
+            float t;
+            if (nextX < nextY) {
+                t = nextX;
+                column += stepColumn;
+                nextX += deltaX;
+            } else {
+                t = nextY;
+                row += stepRow;
+                nextY += deltaY;
+            }
+            if (t > 1) break;
+            if (isSolid(column, row)) return t;
+        }
+        return -1;
+    }
+
+    /**
+     * @return Column of a world x coordinate; may lie outside the grid.
+     */
+    public int column(float x) {
+        return MathUtils.floor(x / tileWidth);
+    }
+
+    /**
+     * @return Row of a world y coordinate; may lie outside the grid.
+     */
+    public int row(float y) {
+        return MathUtils.floor(y / tileHeight);
+    }
+
+    private boolean columnBlocked(int column, int firstRow, int lastRow) {
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (isSolid(column, row)) return true;
+        }
+        return false;
+    }
+
+    private boolean rowBlocked(int row, int firstColumn, int lastColumn) {
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            if (isSolid(column, row)) return true;
+        }
+        return false;
+    }
+}
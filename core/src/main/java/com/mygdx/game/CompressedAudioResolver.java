@@ -0,0 +1,31 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Resolves WAV and MP3 asset names to the Ogg Vorbis file the transcodeAudio build step wrote
+ * to audio/, when it exists. Other names, and builds without transcoded audio, go to the wrapped resolver.
+ * Assets keep their source names in the AssetManager, so screens never see which variant was picked.
+ */
+public class CompressedAudioResolver implements FileHandleResolver {
+    private static final String AUDIO_FOLDER = "audio/";
+
+    private final FileHandleResolver fallback;
+
+    /**
+     * @param fallback Resolver for every file without a transcoded variant.
+     */
+    public CompressedAudioResolver(FileHandleResolver fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public FileHandle resolve(String fileName) {
+        if (fileName.endsWith(".wav") || fileName.endsWith(".mp3")) {
+            FileHandle transcoded = fallback.resolve(AUDIO_FOLDER + fileName.substring(0, fileName.length() - 4) + ".ogg");
+            if (transcoded.exists()) return transcoded;
+        }
+        return fallback.resolve(fileName);
+    }
+}
@@ -0,0 +1,34 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Resolves PNG asset names to a GPU-compressed .ktx variant when the build shipped one
+ * and the device can sample ETC1 natively. Everything else resolves to the internal file.
+ * Assets keep their .png names in the AssetManager, so screens never see which variant was picked.
+ */
+public class CompressedTextureResolver implements FileHandleResolver {
+    private static final String ETC1_EXTENSION = "GL_OES_compressed_ETC1_RGB8_texture";
+
+    private final FileHandleResolver internal = new InternalFileHandleResolver();
+    private final boolean etc1Supported;
+
+    /**
+     * Creates the resolver. Must be called on the GL thread, after the context exists.
+     */
+    public CompressedTextureResolver() {
+        etc1Supported = Gdx.graphics.supportsExtension(ETC1_EXTENSION);
+    }
+
+    @Override
+    public FileHandle resolve(String fileName) {
+        if (etc1Supported && fileName.endsWith(".png")) {
+            FileHandle compressed = internal.resolve(fileName.substring(0, fileName.length() - 4) + ".ktx");
+            if (compressed.exists()) return compressed;
+        }
+        return internal.resolve(fileName);
+    }
+}
@@ -1,57 +1,89 @@
 package com.mygdx.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
+import java.util.Random;
 
 /**
- * Enemy that spawns randomly around screen edges and moves toward player.
+ * Enemies spawn randomly around screen edges and follow a shared {@link FlowField} to the player,
+ * sliding along walls.
+ * Enemy state lives in an {@link EntityStore}; this class holds the spawn and steering logic.
  */
-public class Enemy {
-    public Vector2 position;
-    private Vector2 velocity;
-    private final int width;
-    private final int height;
+public final class Enemy {
+    public static final float SPEED = 100f;
+    /** Spawn positions tried before giving up for this interval. */
+    private static final int SPAWN_ATTEMPTS = 32;
 
-    private static final float ENEMY_SCALE = 0.2f;
+    private Enemy() {}
 
     /**
-     * Constructor that spawns enemy away from the player to avoid instant collision.
+     * Spawns an enemy away from the player to avoid instant collision, on a spot free of walls.
+     * @param enemies Store the enemy is added to.
+     * @param random Source of spawn positions; the world's own, so runs with the same seed spawn alike.
+     * @param walls Solid tiles the enemy must not start in.
+     * @param flow Field toward the player; spots from which the player cannot be reached are skipped.
+     * @param width Scaled enemy width.
+     * @param height Scaled enemy height.
+     * @param areaWidth Width of the area around the player whose edges enemies spawn on.
+     * @param areaHeight Height of the area around the player whose edges enemies spawn on.
+     * @return Handle of the new enemy, or -1 if no free spot was found.
      */
-    public Enemy(int width, int height, Vector2 playerPos) {
-        this.width = width;
-        this.height = height;
-        velocity = new Vector2();
+    public static int spawn(EntityStore enemies, Random random, CollisionGrid walls, FlowField flow, float width, float height,
+                            float playerX, float playerY, float areaWidth, float areaHeight) {
+        int screenWidth = (int) areaWidth;
+        int screenHeight = (int) areaHeight;
 
-        int screenWidth = Gdx.graphics.getWidth();
-        int screenHeight = Gdx.graphics.getHeight();
-
-        position = new Vector2();
-        do {
-            int side = MathUtils.random(3);
+        for (int attempt = 0; attempt < SPAWN_ATTEMPTS; attempt++) {
+            // The area follows the player, since the maze scrolls far beyond the first screen.
+            float x = playerX - screenWidth / 2f, y = playerY - screenHeight / 2f;
+            int side = random.nextInt(4);
             switch (side) {
-                case 0: position.set(MathUtils.random(screenWidth), screenHeight); break;   
-                case 1: position.set(MathUtils.random(screenWidth), -height); break;         
-                case 2: position.set(-width, MathUtils.random(screenHeight)); break; 
-                case 3: position.set(screenWidth, MathUtils.random(screenHeight)); break;   
+                case 0: x += random.nextInt(screenWidth + 1); y += screenHeight; break;
+                case 1: x += random.nextInt(screenWidth + 1); y -= height; break;
+                case 2: x -= width; y += random.nextInt(screenHeight + 1); break;
+                case 3: x += screenWidth; y += random.nextInt(screenHeight + 1); break;
             }
-        } while (position.dst(playerPos) < 200); 
+            if (Math.hypot(x - playerX, y - playerY) < 200 || walls.overlaps(x, y, width, height)) continue;
+            if (flow.next(flow.tileOf(x, y, width)) < 0) continue;
+            return enemies.add(x, y, width, height);
+        }
+        return -1;
     }
 
     /**
-     * Updates enemy movement toward the player's position.
+     * Steers every enemy along the flow field toward the player and moves it, one axis at a time,
+     * so an enemy blocked on one axis still slides along the wall on the other.
+     * Enemies on the player's tile, or off the field, head straight for the player.
      */
-    public void update(float delta, Vector2 playerPos) {
-        velocity.set(playerPos).sub(position).nor().scl(100f);
-        position.mulAdd(velocity, delta);
+    public static void update(EntityStore enemies, CollisionGrid walls, FlowField flow, float delta,
+                              float playerX, float playerY) {
+        update(enemies, walls, flow, delta, playerX, playerY, 0, enemies.size);
     }
 
     /**
-     * Returns the enemy's collision bounds (scaled).
+     * Steers and moves the enemies in a range of dense indices. Only those enemies are written,
+     * so disjoint ranges can run on different threads.
+     * @param from First index, inclusive.
+     * @param to Last index, exclusive.
      */
-    public Rectangle getBounds() {
-        return new Rectangle(position.x, position.y,
-                width * ENEMY_SCALE, height * ENEMY_SCALE);
+    public static void update(EntityStore enemies, CollisionGrid walls, FlowField flow, float delta,
+                              float playerX, float playerY, int from, int to) {
+        float[] x = enemies.x, y = enemies.y, vx = enemies.vx, vy = enemies.vy;
+        float[] width = enemies.width, height = enemies.height;
+        for (int i = from; i < to; i++) {
+            float goalX = playerX, goalY = playerY;
+            int tile = flow.tileOf(x[i], y[i], width[i]);
+            int next = flow.next(tile);
+            if (next >= 0 && next != tile) {
+                goalX = flow.anchorX(next);
+                goalY = flow.anchorY(next);
+            }
+            float dx = goalX - x[i];
+            float dy = goalY - y[i];
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
+            float scale = length > 0 ? SPEED / length : 0;
+            vx[i] = dx * scale;
+            vy[i] = dy * scale;
+            x[i] += walls.sweepX(x[i], y[i], width[i], height[i], vx[i] * delta);
+            y[i] += walls.sweepY(x[i], y[i], width[i], height[i], vy[i] * delta);
+        }
     }
-}
\ No newline at end of file
+}
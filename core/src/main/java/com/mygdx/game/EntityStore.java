@@ -0,0 +1,158 @@
+package com.mygdx.game;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays storage for moving entities.
+ * Position, velocity and size live in parallel primitive columns indexed by a dense slot,
+ * so per-tick systems run as tight loops over contiguous memory. Removal swaps the last
+ * entity into the freed slot. Handles returned by add() stay valid until the entity is
+ * removed, even when its dense index changes.
+ */
+public class EntityStore {
+    private static final int SLOT_BITS = 20;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+
+    public float[] x;
+    public float[] y;
+    public float[] vx;
+    public float[] vy;
+    public float[] width;
+    public float[] height;
+    /** Positions at the start of the current tick, used to interpolate rendering between ticks. */
+    public float[] prevX;
+    public float[] prevY;
+    /** Number of live entities; valid dense indices are 0 to size - 1. */
+    public int size;
+
+    private int[] handles;
+    private int[] slotIndex;
+    private int[] slotGeneration;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+
+    /**
+     * Creates a store with room for the given number of entities before it has to grow.
+     */
+    public EntityStore(int capacity) {
+        capacity = Math.max(capacity, 16);
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        handles = new int[capacity];
+        slotIndex = new int[capacity];
+        slotGeneration = new int[capacity];
+        freeSlots = new int[capacity];
+    }
+
+    /**
+     * Adds an entity at rest.
+     * @return Stable handle of the new entity.
+     */
+    public int add(float x, float y, float width, float height) {
+        if (size == this.x.length) grow();
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+        int index = size++;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.vx[index] = 0;
+        this.vy[index] = 0;
+        this.width[index] = width;
+        this.height[index] = height;
+        this.prevX[index] = x;
+        this.prevY[index] = y;
+        slotIndex[slot] = index;
+        int handle = (slotGeneration[slot] << SLOT_BITS) | slot;
+        handles[index] = handle;
+        return handle;
+    }
+
+    /**
+     * Removes the entity at a dense index by moving the last entity into its place.
+     */
+    public void remove(int index) {
+        int slot = handles[index] & SLOT_MASK;
+        slotGeneration[slot] = (slotGeneration[slot] + 1) & GENERATION_MASK;
+        slotIndex[slot] = -1;
+        freeSlots[freeCount++] = slot;
+
+        int last = --size;
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            vx[index] = vx[last];
+            vy[index] = vy[last];
+            width[index] = width[last];
+            height[index] = height[last];
+            prevX[index] = prevX[last];
+            prevY[index] = prevY[last];
+            handles[index] = handles[last];
+            slotIndex[handles[index] & SLOT_MASK] = index;
+        }
+    }
+
+    /**
+     * @return Current dense index of the entity, or -1 if it has been removed.
+     */
+    public int indexOf(int handle) {
+        int slot = handle & SLOT_MASK;
+        if (slot >= slotCount || slotGeneration[slot] != handle >>> SLOT_BITS) return -1;
+        return slotIndex[slot];
+    }
+
+    /**
+     * @return Handle of the entity at a dense index.
+     */
+    public int handleAt(int index) {
+        return handles[index];
+    }
+
+    /**
+     * Advances every position by its velocity.
+     */
+    public void integrate(float delta) {
+        float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        for (int i = 0, n = size; i < n; i++) {
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+        }
+    }
+
+    /**
+     * Records the current positions as the previous tick's positions.
+     */
+    public void savePrevious() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+    }
+
+    /**
+     * Removes every entity. Outstanding handles become invalid.
+     */
+    public void clear() {
+        while (size > 0) remove(size - 1);
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+        slotIndex = Arrays.copyOf(slotIndex, capacity);
+        slotGeneration = Arrays.copyOf(slotGeneration, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+}
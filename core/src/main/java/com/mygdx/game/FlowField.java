@@ -0,0 +1,151 @@
+package com.mygdx.game;
+
+import java.util.Arrays;
+
+/**
+ * Shared navigation for every enemy: a breadth-first search from the player's tile over the
+ * {@link CollisionGrid} records, for each reachable tile, the neighbour one step closer to the player.
+ * Enemies look up their next tile in O(1), so pathfinding cost does not grow with the horde.
+ * <p>
+ * The search only restarts when the player enters a different tile, and it is time-sliced:
+ * each call to {@link #update(int)} expands a bounded number of tiles into a back buffer, which
+ * replaces the published field once complete. Until then enemies keep following the previous field.
+ * Everything runs on the simulation thread, so results are deterministic.
+ */
+public class FlowField {
+    private static final int[] STEP_COLUMN = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] STEP_ROW = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final CollisionGrid grid;
+    private final float agentWidth;
+    /** Tiles a box of the agent's size fits into when standing on the tile's bottom edge, centred. */
+    private final boolean[] passable;
+
+    /** Next tile toward the target for every tile, the target itself for the target, or -1 if unreachable. */
+    private int[] next;
+    private int target = -1;
+
+    private int[] building;
+    private final int[] queue;
+    private int queueHead;
+    private int queueTail;
+    private int requestedTarget = -1;
+    private int buildingTarget = -1;
+    private boolean buildPending;
+
+    /**
+     * @param grid Walls to navigate around.
+     * @param agentWidth Width of the boxes that follow the field.
+     * @param agentHeight Height of the boxes that follow the field.
+     */
+    public FlowField(CollisionGrid grid, float agentWidth, float agentHeight) {
+        this.grid = grid;
+        this.agentWidth = agentWidth;
+        int tiles = grid.columns * grid.rows;
+        passable = new boolean[tiles];
+        for (int i = 0; i < tiles; i++) {
+            passable[i] = !grid.overlaps(anchorX(i), anchorY(i), agentWidth, agentHeight);
+        }
+        next = new int[tiles];
+        building = new int[tiles];
+        queue = new int[tiles];
+        Arrays.fill(next, -1);
+    }
+
+    /**
+     * Moves the target tile. A new search starts on the next update if the tile differs from the
+     * published target; a search already running is finished first, so a fast-moving target
+     * cannot keep the field from ever being published.
+     * @param tile Tile index, usually from {@link #tileOf(float, float, float)}; ignored when -1.
+     */
+    public void setTarget(int tile) {
+        if (tile >= 0) requestedTarget = tile;
+    }
+
+    /**
+     * Continues the pending search, starting a new one if the target moved.
+     * @param tileBudget Maximum number of tiles to expand in this call.
+     * @return Whether a new field was published by this call.
+     */
+    public boolean update(int tileBudget) {
+        if (!buildPending) {
+            if (requestedTarget < 0 || requestedTarget == target) return false;
+            buildingTarget = requestedTarget;
+            Arrays.fill(building, -1);
+            building[buildingTarget] = buildingTarget;
+            queueHead = 0;
+            queueTail = 0;
+            queue[queueTail++] = buildingTarget;
+            buildPending = true;
+        }
+        int columns = grid.columns, rows = grid.rows;
+        for (int expanded = 0; expanded < tileBudget && queueHead < queueTail; expanded++) {
+            int tile = queue[queueHead++];
+            int column = tile % columns, row = tile / columns;
+            for (int d = 0; d < STEP_COLUMN.length; d++) {
+                int nc = column + STEP_COLUMN[d], nr = row + STEP_ROW[d];
+                if (nc < 0 || nr < 0 || nc >= columns || nr >= rows) continue;
+                int neighbour = nr * columns + nc;
+                if (building[neighbour] >= 0 || !passable[neighbour]) continue;
+                // Diagonal steps must not cut a wall corner.
+                if (d >= 4 && (!passable[row * columns + nc] || !passable[nr * columns + column])) continue;
+                building[neighbour] = tile;
+                queue[queueTail++] = neighbour;
+            }
+        }
+        if (queueHead < queueTail) return false;
+
+        int[] published = next;
+        next = building;
+        building = published;
+        target = buildingTarget;
+        buildPending = false;
+        return true;
+    }
+
+    /**
+     * Runs the pending search to completion, then one toward the latest target if it differs.
+     */
+    public void finish() {
+        update(Integer.MAX_VALUE);
+        update(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return Tile a box with the given bottom-left corner and width stands on, or -1 outside the grid.
+     *         It switches to the next row once the box is half a tile into it.
+     */
+    public int tileOf(float x, float y, float width) {
+        int column = grid.column(x + width / 2f), row = grid.row(y + grid.tileHeight / 2f);
+        if (column < 0 || row < 0 || column >= grid.columns || row >= grid.rows) return -1;
+        return row * grid.columns + column;
+    }
+
+    /**
+     * @return Tile one step closer to the target, the tile itself at the target, or -1 if the target cannot be reached.
+     */
+    public int next(int tile) {
+        return tile < 0 ? -1 : next[tile];
+    }
+
+    /**
+     * @return Target tile of the published field, or -1 before the first search completed.
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * @return World x at which an agent standing on the tile has its left edge, centred on the tile.
+     */
+    public float anchorX(int tile) {
+        return tile % grid.columns * grid.tileWidth + (grid.tileWidth - agentWidth) / 2f;
+    }
+
+    /**
+     * @return World y at which an agent standing on the tile has its bottom edge.
+     */
+    public float anchorY(int tile) {
+        return tile / grid.columns * grid.tileHeight;
+    }
+}
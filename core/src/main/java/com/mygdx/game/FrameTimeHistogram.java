@@ -0,0 +1,67 @@
+package com.mygdx.game;
+
+/**
+ * Frame-time percentiles over a sliding window of recent frames.
+ * Samples go into a ring buffer and a fixed-width bucket histogram; when the ring wraps,
+ * the oldest sample leaves its bucket again, so percentiles always cover the last window.
+ * Recording and querying never allocate.
+ */
+public class FrameTimeHistogram {
+    /** Bucket width in milliseconds. */
+    private static final float BUCKET_MS = 0.1f;
+    /** Samples above this land in the last bucket. */
+    private static final float MAX_MS = 100f;
+
+    private final float[] samples;
+    private final int[] buckets = new int[(int) (MAX_MS / BUCKET_MS) + 1];
+    private int next;
+    private int count;
+
+    /**
+     * @param window Number of most recent frames the percentiles cover.
+     */
+    public FrameTimeHistogram(int window) {
+        samples = new float[window];
+    }
+
+    /**
+     * Adds one frame time.
+     * @param milliseconds Frame duration in milliseconds.
+     */
+    public void record(float milliseconds) {
+        if (count == samples.length) {
+            buckets[bucket(samples[next])]--;
+        } else {
+            count++;
+        }
+        samples[next] = milliseconds;
+        buckets[bucket(milliseconds)]++;
+        next = (next + 1) % samples.length;
+    }
+
+    /**
+     * @param percentile Value between 0 and 100, e.g. 95.
+     * @return Upper edge of the bucket holding the given percentile in milliseconds, or 0 with no samples.
+     */
+    public float percentile(float percentile) {
+        if (count == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100f * count);
+        int seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) return (i + 1) * BUCKET_MS;
+        }
+        return MAX_MS;
+    }
+
+    /**
+     * @return Number of samples currently in the window.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    private int bucket(float milliseconds) {
+        return Math.min(buckets.length - 1, Math.max(0, (int) (milliseconds / BUCKET_MS)));
+    }
+}
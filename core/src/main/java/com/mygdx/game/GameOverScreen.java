@@ -6,12 +6,11 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
-import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
-import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
 
 /**
@@ -19,9 +18,14 @@ import com.badlogic.gdx.utils.viewport.ScreenViewport;
  * It displays a game over image and provides buttons to restart or exit the game.
  */
 public class GameOverScreen implements Screen {
+    private static final String BACKGROUND = "background4.png";
+    private static final String GAME_OVER = "GameOver.png";
+    private static final String RESTART = "restart.png";
+    private static final String EXIT = "exit.png";
 
     private final MyGdxGame game;
-    private Stage stage;
+    /** Everything this screen shows; put on the shared stage while the screen is shown. */
+    private final Group root = new Group();
     private Texture backgroundTexture;
     private Texture gameOverTexture;
     private Texture restartTexture;
@@ -30,6 +34,16 @@ public class GameOverScreen implements Screen {
     private ImageButton restartButton;
     private ImageButton exitButton;
 
+    /**
+     * Queues the screen's textures, so the constructor finds them loaded.
+     */
+    public static void queueAssets(LoadingScreen loading) {
+        loading.queue(BACKGROUND, Texture.class);
+        loading.queue(GAME_OVER, Texture.class);
+        loading.queue(RESTART, Texture.class);
+        loading.queue(EXIT, Texture.class);
+    }
+
     /**
      * Constructs the GameOverScreen and initializes all UI elements.
      * @param game Reference to the main game instance.
@@ -37,18 +51,16 @@ public class GameOverScreen implements Screen {
     public GameOverScreen(MyGdxGame game) {
         this.game = game;
 
-        stage = new Stage(new ScreenViewport());
-        Gdx.input.setInputProcessor(stage);
 
-        backgroundTexture = new Texture("background4.png");
-        gameOverTexture = new Texture("GameOver.png");
-        restartTexture = new Texture("restart.png");
-        exitTexture = new Texture("exit.png");
+        backgroundTexture = game.acquire(BACKGROUND, Texture.class);
+        gameOverTexture = game.acquire(GAME_OVER, Texture.class);
+        restartTexture = game.acquire(RESTART, Texture.class);
+        exitTexture = game.acquire(EXIT, Texture.class);
 
         Image bg = new Image(backgroundTexture);
         bg.setSize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         bg.setPosition(0, 0);
-        stage.addActor(bg);
+        root.addActor(bg);
 
         gameOverImage = new Image(gameOverTexture);
         gameOverImage.setSize(800, 320);
@@ -56,7 +68,7 @@ public class GameOverScreen implements Screen {
                 (Gdx.graphics.getWidth() - 800) / 2f,
                 Gdx.graphics.getHeight() / 2f
         );
-        stage.addActor(gameOverImage);
+        root.addActor(gameOverImage);
 
         TextureRegionDrawable restartDrawable = new TextureRegionDrawable(new TextureRegion(restartTexture));
         restartButton = new ImageButton(restartDrawable);
@@ -68,10 +80,10 @@ public class GameOverScreen implements Screen {
         restartButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                game.setScreen(new GameScreen(game));
+                game.startGame();
             }
         });
-        stage.addActor(restartButton);
+        root.addActor(restartButton);
 
         TextureRegionDrawable exitDrawable = new TextureRegionDrawable(new TextureRegion(exitTexture));
         exitButton = new ImageButton(exitDrawable);
@@ -86,11 +98,17 @@ public class GameOverScreen implements Screen {
                 Gdx.app.exit();
             }
         });
-        stage.addActor(exitButton);
+        root.addActor(exitButton);
     }
 
+    /**
+     * Puts the screen on the shared stage and routes input to it; the screen is reused, so this happens on every visit.
+     */
     @Override
-    public void show() {}
+    public void show() {
+        game.stage.addActor(root);
+        Gdx.input.setInputProcessor(game.stage);
+    }
     /**
      * Renders the Game Over screen.
      * @param delta Time since the last frame.
@@ -99,31 +117,30 @@ public class GameOverScreen implements Screen {
     public void render(float delta) {
         Gdx.gl.glClearColor(0.2f, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        stage.act(delta);
-        stage.draw();
+        game.stage.act(delta);
+        game.stage.draw();
     }
-     /**
-     * Updates the viewport size when the screen is resized.
-     * @param width New screen width.
-     * @param height New screen height.
+    /**
+     * The shared stage's viewport is updated by MyGdxGame.
      */
     @Override
-    public void resize(int width, int height) {
-        stage.getViewport().update(width, height, true);
-    }
+    public void resize(int width, int height) {}
 
     @Override public void pause() {}
     @Override public void resume() {}
-    @Override public void hide() {}
+    @Override
+    public void hide() {
+        root.remove();
+        Gdx.input.setInputProcessor(null);
+    }
     /**
      * Releases all assets and resources.
      */
     @Override
     public void dispose() {
-        stage.dispose();
-        backgroundTexture.dispose();
-        gameOverTexture.dispose();
-        restartTexture.dispose();
-        exitTexture.dispose();
+        game.release(BACKGROUND);
+        game.release(GAME_OVER);
+        game.release(RESTART);
+        game.release(EXIT);
     }
 }
@@ -5,225 +5,428 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
 
 /**
- * The main gameplay screen, handling movement, enemies, shooting, and collision detection.
+ * The main gameplay screen. It reads input, steps the {@link World} simulation and draws its state.
  */
 public class GameScreen implements Screen {
     private final MyGdxGame game;
 
     private OrthographicCamera camera;
 
-    private Texture background;
-    private Texture playerTexture;
-    private Texture enemyTexture;
-    private Texture goalTexture;
-    private Texture starTexture;
-
-    private Vector2 playerPos;
-    private Rectangle goalBounds;
-
-    private static final float PLAYER_SPEED = 200f;
-    private static final float PLAYER_SCALE = 0.2f;
-    private static final float ENEMY_SCALE = 0.2f;
-    private static final float GOAL_SCALE = 0.4f;
-    private static final float STAR_SCALE = 0.1f;
+    private TileMapRenderer mapRenderer;
+    private TextureRegion playerRegion;
+    private TextureRegion enemyRegion;
+    private TextureRegion goalRegion;
+    private TextureRegion starRegion;
+
+    private static final String GAMEPLAY_ATLAS = "atlas/gameplay.atlas";
+    public static final String MAP_FILE = "Tiled_files/Dungeon1.tmx";
+    /** World units per map pixel. */
+    public static final float MAP_SCALE = 4f;
+    /** Map layer whose tiles block movement. */
+    public static final String WALL_LAYER = "Walls";
+    /** Local file F5 saves the run to and F9 restores it from. */
+    public static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    /** Default number of simulation ticks per second. */
+    public static final int DEFAULT_TICK_RATE = 60;
+    /** Longest frame the simulation catches up on; slower frames run the game in slow motion instead. */
+    private static final float MAX_FRAME_TIME = 0.25f;
+
+    private final World world;
+    private final Vector3 click = new Vector3();
+    private final InputQueue input = new InputQueue();
+    /** Keys held as of the last event applied to the simulation. */
+    private final boolean[] heldKeys = new boolean[Input.Keys.MAX_KEYCODE + 1];
+    private int appliedEvents;
+    private final IntArray visibleEnemies = new IntArray();
+    /** F5 and F9 presses seen during the current tick, applied once the tick has been simulated. */
+    private final IntArray snapshotKeys = new IntArray();
+    private int drawnEntities;
+    private int culledEntities;
+    private int tickRate = DEFAULT_TICK_RATE;
+    private float tickDuration = 1f / DEFAULT_TICK_RATE;
+    private ReplayRecorder recorder;
+    private ReplayPlayer replay;
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+    private float accumulator;
+
+    private final int shootEffect, loseEffect;
 
-    private Array<Enemy> enemies;
-    private Array<Star> stars;
-    private float enemySpawnTimer;
-    private float enemySpawnInterval = 2f;
 
-    private int worldWidth;
-    private int worldHeight;
-
-    private Sound shootSound,loseSound;
+    /**
+     * Parses the maze the screen plays in. Parse it once and hand the result to both
+     * {@link #queueAssets} and the constructor.
+     */
+    public static TileMap loadMap() {
+        return TileMap.load(Gdx.files.internal(MAP_FILE));
+    }
 
+    /**
+     * Queues the gameplay atlas and the map's tileset images, so the constructor finds them loaded.
+     * @param map The map from {@link #loadMap()}.
+     */
+    public static void queueAssets(LoadingScreen loading, TileMap map) {
+        loading.queue(GAMEPLAY_ATLAS, TextureAtlas.class);
+        for (TileMap.Tileset tileset : map.tilesets) {
+            loading.queue(tileset.imagePath, Pixmap.class);
+        }
+    }
 
     /**
      * Constructor for the gameplay screen.
      * @param game Main game instance
+     * @param map The map from {@link #loadMap()}, whose tilesets were queued with {@link #queueAssets}.
      */
-    public GameScreen(MyGdxGame game) {
+    public GameScreen(MyGdxGame game, TileMap map) {
         this.game = game;
 
-        background = new Texture("background2.png");
-        playerTexture = new Texture("player.png");
-        enemyTexture = new Texture("enemy.png");
-        goalTexture = new Texture("aim.png");
-        starTexture = new Texture("star.png");
-
-        shootSound = Gdx.audio.newSound(Gdx.files.internal("shoot.mp3"));
-        loseSound = Gdx.audio.newSound(Gdx.files.internal("lose.wav"));
-
-        worldWidth = background.getWidth() * 2;
-        worldHeight = background.getHeight() * 2;
-
-        playerPos = new Vector2(100, 100);
-
-        float goalW = goalTexture.getWidth() * GOAL_SCALE;
-        float goalH = goalTexture.getHeight() * GOAL_SCALE;
-        goalBounds = new Rectangle(worldWidth - goalW - 100, 100, goalW, goalH);
+        // Sprites are resampled to their on-screen size by the packTextures task, so region sizes are world sizes.
+        TextureAtlas atlas = game.acquire(GAMEPLAY_ATLAS, TextureAtlas.class);
+        playerRegion = atlas.findRegion("player");
+        enemyRegion = atlas.findRegion("enemy");
+        goalRegion = atlas.findRegion("aim");
+        starRegion = atlas.findRegion("star");
+
+        shootEffect = game.sfx.find(MyGdxGame.SHOOT_SOUND);
+        loseEffect = game.sfx.find(MyGdxGame.LOSE_SOUND);
+
+        mapRenderer = new TileMapRenderer(game, map, MAP_SCALE);
+
+        WorldConfig config = new WorldConfig();
+        config.worldWidth = mapRenderer.getWorldWidth();
+        config.worldHeight = mapRenderer.getWorldHeight();
+        config.spawnWidth = Gdx.graphics.getWidth();
+        config.spawnHeight = Gdx.graphics.getHeight();
+        config.playerWidth = playerRegion.getRegionWidth();
+        config.playerHeight = playerRegion.getRegionHeight();
+        config.enemyWidth = enemyRegion.getRegionWidth();
+        config.enemyHeight = enemyRegion.getRegionHeight();
+        config.starWidth = starRegion.getRegionWidth();
+        config.starHeight = starRegion.getRegionHeight();
+        config.goalWidth = goalRegion.getRegionWidth();
+        config.goalHeight = goalRegion.getRegionHeight();
+        if (game.replayPath != null) {
+            // A world sizes its broadphase and flow field when it is built, so the recorded sizes go in first.
+            ReplayPlayer recorded = new ReplayPlayer(Gdx.files.absolute(game.replayPath));
+            recorded.configure(config);
+            recorded.finish();
+        }
+        world = new World(config, CollisionGrid.fromMap(map, MAP_SCALE, WALL_LAYER));
+        world.setParallelUpdater(game.parallelUpdater);
 
         camera = new OrthographicCamera(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         camera.update();
+        startRun();
+    }
 
-        enemies = new Array<>();
-        stars = new Array<>();
+    /**
+     * Resets the world for a new run with a fresh seed, or with the recorded one when replaying,
+     * and starts recording it if requested.
+     */
+    private void startRun() {
+        closeReplay();
+        if (game.replayPath != null) {
+            replay = new ReplayPlayer(Gdx.files.absolute(game.replayPath));
+            replay.configure(world.config);
+            setTickRate(replay.getTickRate());
+        } else {
+            world.config.seed = MathUtils.random.nextLong();
+        }
+        world.reset();
+        if (replay == null && game.recordPath != null) {
+            recorder = new ReplayRecorder(Gdx.files.absolute(game.recordPath), world, tickRate);
+        }
     }
 
+    private void closeReplay() {
+        if (recorder != null) recorder.close(world);
+        recorder = null;
+        if (replay != null) replay.finish();
+        replay = null;
+    }
+
+    /**
+     * Sets how many fixed simulation ticks run per second of game time.
+     * @param ticksPerSecond Tick rate, e.g. 60 or 120.
+     */
+    public void setTickRate(int ticksPerSecond) {
+        tickRate = ticksPerSecond;
+        tickDuration = 1f / ticksPerSecond;
+    }
+
+    /**
+     * Advances the simulation in fixed ticks and draws the state interpolated between the last two ticks.
+     * @param delta Time since last frame.
+     */
     @Override
     public void render(float delta) {
-        update(delta);
+        long updateStart = System.nanoTime();
+        accumulator += Math.min(delta, MAX_FRAME_TIME);
+        // The simulation trails the clock by the accumulator, so the ticks of this frame end at these times.
+        long tickNanos = (long) (tickDuration * 1e9);
+        long tickEnd = updateStart - (long) ((accumulator - tickDuration) * 1e9);
+        while (accumulator >= tickDuration) {
+            update(tickDuration, tickEnd - tickNanos, tickEnd);
+            tickEnd += tickNanos;
+            accumulator -= tickDuration;
+            if (world.getStatus() != World.Status.PLAYING) {
+                input.clear();
+                appliedEvents = 0;
+                endRun();
+                return;
+            }
+        }
+        // Live input is ignored while a replay drives the world.
+        if (replay != null) appliedEvents = input.size();
+        // Events after the last tick stay queued for the next frame.
+        input.removeFirst(appliedEvents);
+        appliedEvents = 0;
+        long renderStart = System.nanoTime();
+        float alpha = accumulator / tickDuration;
 
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        WorldConfig config = world.config;
+        float playerX = MathUtils.lerp(world.prevPlayerX, world.playerX, alpha);
+        float playerY = MathUtils.lerp(world.prevPlayerY, world.playerY, alpha);
+        float camX = MathUtils.clamp(playerX, camera.viewportWidth / 2f, config.worldWidth - camera.viewportWidth / 2f);
+        float camY = MathUtils.clamp(playerY, camera.viewportHeight / 2f, config.worldHeight - camera.viewportHeight / 2f);
+        camera.position.set(camX, camY, 0);
         camera.update();
+        mapRenderer.update(delta);
+        mapRenderer.render(camera, game.batch);
         game.batch.setProjectionMatrix(camera.combined);
 
+        Rectangle goalBounds = world.goalBounds;
         game.batch.begin();
-        game.batch.draw(background, 0, 0, worldWidth, worldHeight);
-        game.batch.draw(goalTexture, goalBounds.x, goalBounds.y, goalBounds.width, goalBounds.height);
-        game.batch.draw(playerTexture, playerPos.x, playerPos.y,
-                playerTexture.getWidth() * PLAYER_SCALE, playerTexture.getHeight() * PLAYER_SCALE);
-
-        for (Enemy e : enemies) {
-            game.batch.draw(enemyTexture, e.position.x, e.position.y,
-                    enemyTexture.getWidth() * ENEMY_SCALE, enemyTexture.getHeight() * ENEMY_SCALE);
+        game.batch.draw(goalRegion, goalBounds.x, goalBounds.y, goalBounds.width, goalBounds.height);
+        game.batch.draw(playerRegion, playerX, playerY, config.playerWidth, config.playerHeight);
+
+        // Cull against the camera. Drawn positions are interpolated from the previous tick, so the
+        // broadphase query is widened by the farthest an enemy moves in one tick.
+        float viewWidth = camera.viewportWidth * camera.zoom, viewHeight = camera.viewportHeight * camera.zoom;
+        float viewX = camera.position.x - viewWidth / 2f, viewY = camera.position.y - viewHeight / 2f;
+        float margin = Enemy.SPEED * tickDuration;
+        drawnEntities = 0;
+        EntityStore enemies = world.enemies;
+        world.queryEnemies(viewX - margin, viewY - margin, viewWidth + margin * 2, viewHeight + margin * 2,
+                visibleEnemies);
+        for (int k = 0; k < visibleEnemies.size; k++) {
+            int i = visibleEnemies.get(k);
+            float x = MathUtils.lerp(enemies.prevX[i], enemies.x[i], alpha);
+            float y = MathUtils.lerp(enemies.prevY[i], enemies.y[i], alpha);
+            if (!inView(x, y, enemies.width[i], enemies.height[i], viewX, viewY, viewWidth, viewHeight)) continue;
+            game.batch.draw(enemyRegion, x, y, enemies.width[i], enemies.height[i]);
+            drawnEntities++;
         }
 
-        for (Star s : stars) {
-            game.batch.draw(starTexture, s.position.x, s.position.y,
-                    starTexture.getWidth() * STAR_SCALE, starTexture.getHeight() * STAR_SCALE);
+        EntityStore stars = world.stars;
+        for (int i = 0; i < stars.size; i++) {
+            float x = MathUtils.lerp(stars.prevX[i], stars.x[i], alpha);
+            float y = MathUtils.lerp(stars.prevY[i], stars.y[i], alpha);
+            if (!inView(x, y, stars.width[i], stars.height[i], viewX, viewY, viewWidth, viewHeight)) continue;
+            game.batch.draw(starRegion, x, y, stars.width[i], stars.height[i]);
+            drawnEntities++;
         }
+        culledEntities = enemies.size + stars.size - drawnEntities;
 
         game.batch.end();
+
+        game.overlay.setFrameSplit(renderStart - updateStart, System.nanoTime() - renderStart);
+        game.overlay.setEntityCounts(enemies.size, stars.size);
+        game.overlay.setCulling(drawnEntities, culledEntities);
+    }
+
+    private static boolean inView(float x, float y, float width, float height,
+                                  float viewX, float viewY, float viewWidth, float viewHeight) {
+        return x < viewX + viewWidth && x + width > viewX && y < viewY + viewHeight && y + height > viewY;
     }
     /**
-     * Updates all game logic each frame: enemy spawning, collisions, camera tracking.
-     * @param delta Time since last frame.
+     * Applies the input events that happened during one fixed tick and steps the world.
+     * Movement is the held direction averaged over the tick, so a key released halfway through
+     * moves the player half as far. Every click fires a star.
+     * @param delta Duration of one tick.
+     * @param start Time the tick starts, in System.nanoTime() units.
+     * @param end Time the tick ends.
      */
-    private void update(float delta) {
-        handleInput(delta);
-
-        enemySpawnTimer += delta;
-        if (enemySpawnTimer >= enemySpawnInterval) {
-            enemies.add(new Enemy(enemyTexture.getWidth(), enemyTexture.getHeight(), playerPos));
-            enemySpawnTimer = 0;
+    private void update(float delta, long start, long end) {
+        if (replay != null) {
+            if (replay.step(world)) return;
+            // The recording ended before the run did; live input takes over from here.
+            Gdx.app.log("Replay", "Replay finished at tick " + world.getTick() + ", "
+                    + replay.getCheckpoints() + " checkpoints matched");
+            closeReplay();
+        }
+        float moveX = 0, moveY = 0;
+        float tickLength = end - start;
+        long time = start;
+        while (appliedEvents < input.size() && input.getTime(appliedEvents) <= end) {
+            // Events stamped before the tick, e.g. after a frame longer than MAX_FRAME_TIME, apply at its start.
+            long eventTime = Math.max(start, input.getTime(appliedEvents));
+            float weight = (eventTime - time) / tickLength;
+            moveX += heldX() * weight;
+            moveY += heldY() * weight;
+            time = eventTime;
+            applyEvent(appliedEvents++);
         }
+        float weight = (end - time) / tickLength;
+        moveX += heldX() * weight;
+        moveY += heldY() * weight;
 
-        float playerW = playerTexture.getWidth() * PLAYER_SCALE;
-        float playerH = playerTexture.getHeight() * PLAYER_SCALE;
-        Vector2 playerCenter = new Vector2(playerPos.x + playerW / 2f, playerPos.y + playerH / 2f);
+        if (recorder != null) recorder.move(world, moveX, moveY);
+        world.update(delta, moveX, moveY);
+        if (recorder != null) recorder.checkpoint(world);
 
-        for (int i = enemies.size - 1; i >= 0; i--) {
-            Enemy e = enemies.get(i);
-            e.update(delta, playerPos);
+        // Applied after the tick, so a restore discards the whole tick rather than half of its input.
+        for (int i = 0; i < snapshotKeys.size; i++) applySnapshotKey(snapshotKeys.get(i));
+        snapshotKeys.clear();
+    }
 
-            float enemyW = enemyTexture.getWidth() * ENEMY_SCALE;
-            float enemyH = enemyTexture.getHeight() * ENEMY_SCALE;
-            Vector2 enemyCenter = new Vector2(e.position.x + enemyW / 2f, e.position.y + enemyH / 2f);
-            float distance = playerCenter.dst(enemyCenter);
+    private void applyEvent(int event) {
+        switch (input.getType(event)) {
+            case InputQueue.KEY_DOWN:
+            case InputQueue.KEY_UP:
+                int key = input.getCode(event);
+                if (key >= 0 && key < heldKeys.length) heldKeys[key] = input.getType(event) == InputQueue.KEY_DOWN;
+                if (input.getType(event) == InputQueue.KEY_DOWN && (key == Input.Keys.F5 || key == Input.Keys.F9)) {
+                    snapshotKeys.add(key);
+                }
+                break;
+            case InputQueue.TOUCH_DOWN:
+                // The camera has not moved since the frame the player clicked on.
+                click.set(input.getX(event), input.getY(event), 0);
+                camera.unproject(click);
+                if (recorder != null) recorder.fire(world, click.x, click.y);
+                world.fire(click.x, click.y);
+                game.sfx.play(shootEffect);
+                break;
+            default:
+                break;
+        }
+    }
 
-            if (distance < (playerW + enemyW) / 2 * 0.8f) {
-                loseSound.play();
-                game.setScreen(new GameOverScreen(game));
-                return;
+    /**
+     * Saves the run on F5 and restores it on F9. Called between ticks, after {@link World#update}, so the
+     * snapshot is a consistent state and no input of the tick reaches a world that is then replaced. A snapshot that cannot be written or read is logged, and the world is left as it was.
+     */
+    private void applySnapshotKey(int key) {
+        try {
+            if (key == Input.Keys.F5) {
+                snapshot.save(world, Gdx.files.local(SNAPSHOT_FILE));
+            } else if (key == Input.Keys.F9 && Gdx.files.local(SNAPSHOT_FILE).exists()) {
+                // The recorded input no longer leads to this state, so the recording stops here.
+                if (recorder != null) recorder.close(world);
+                recorder = null;
+                snapshot.load(Gdx.files.local(SNAPSHOT_FILE), world);
             }
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("Snapshot", "Snapshot failed", e);
         }
+    }
 
-        for (Star s : stars) s.update(delta);
+    private float heldX() {
+        float x = 0;
+        if (heldKeys[Input.Keys.A] || heldKeys[Input.Keys.LEFT]) x -= 1;
+        if (heldKeys[Input.Keys.D] || heldKeys[Input.Keys.RIGHT]) x += 1;
+        return x;
+    }
 
-        for (int i = enemies.size - 1; i >= 0; i--) {
-            Rectangle enemyBounds = enemies.get(i).getBounds();
-            for (int j = stars.size - 1; j >= 0; j--) {
-                if (stars.get(j).getBounds().overlaps(enemyBounds)) {
-                    enemies.removeIndex(i);
-                    stars.removeIndex(j);
-                    break;
-                }
-            }
-        }
+    private float heldY() {
+        float y = 0;
+        if (heldKeys[Input.Keys.W] || heldKeys[Input.Keys.UP]) y += 1;
+        if (heldKeys[Input.Keys.S] || heldKeys[Input.Keys.DOWN]) y -= 1;
+        return y;
+    }
 
-        for (int i = stars.size - 1; i >= 0; i--) {
-            Vector2 pos = stars.get(i).position;
-            if (pos.x < 0 || pos.x > worldWidth || pos.y < 0 || pos.y > worldHeight) {
-                stars.removeIndex(i);
-            }
+    /**
+     * Leaves the screen once the run has ended. Runs after the tick loop, never inside it,
+     * so the world is not stepped again while another screen is active.
+     */
+    private void endRun() {
+        if (replay != null) {
+            Gdx.app.log("Replay", "Run ended at tick " + world.getTick() + ", "
+                    + replay.getCheckpoints() + " checkpoints matched");
         }
-
-        Rectangle playerRect = new Rectangle(playerPos.x, playerPos.y, playerW, playerH);
-        if (playerRect.overlaps(goalBounds)) {
-            game.setScreen(new MiniGameScreen(game));
+        closeReplay();
+        if (world.getStatus() == World.Status.LOST) {
+            game.sfx.play(loseEffect);
+            game.showGameOver();
+        } else {
+            game.showMiniGame();
         }
+    }
 
-        float camX = MathUtils.clamp(playerPos.x, camera.viewportWidth / 2f, worldWidth - camera.viewportWidth / 2f);
-        float camY = MathUtils.clamp(playerPos.y, camera.viewportHeight / 2f, worldHeight - camera.viewportHeight / 2f);
-        camera.position.set(camX, camY, 0);
+    /**
+     * Starts a new run on this screen, keeping the map, sprites and entity storage.
+     */
+    public void reset() {
+        startRun();
+        accumulator = 0;
+        input.clear();
+        appliedEvents = 0;
+        Arrays.fill(heldKeys, false);
+        snapshotKeys.clear();
+        drawnEntities = 0;
+        culledEntities = 0;
     }
     /**
-     * Handles user input for movement and shooting.
-     * @param delta Time since last frame.
+     * @return Number of enemies and stars drawn in the last frame.
      */
-    private void handleInput(float delta) {
-        float moveX = 0, moveY = 0;
-
-        if (Gdx.input.isKeyPressed(Input.Keys.W) || Gdx.input.isKeyPressed(Input.Keys.UP)) moveY += 1;
-        if (Gdx.input.isKeyPressed(Input.Keys.S) || Gdx.input.isKeyPressed(Input.Keys.DOWN)) moveY -= 1;
-        if (Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) moveX -= 1;
-        if (Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)) moveX += 1;
+    public int getDrawnEntities() {
+        return drawnEntities;
+    }
 
-        float length = (float) Math.sqrt(moveX * moveX + moveY * moveY);
-        if (length > 0) {
-            moveX /= length;
-            moveY /= length;
-        }
+    /**
+     * @return Number of enemies and stars skipped in the last frame because they were off-screen.
+     */
+    public int getCulledEntities() {
+        return culledEntities;
+    }
 
-        playerPos.x += moveX * PLAYER_SPEED * delta;
-        playerPos.y += moveY * PLAYER_SPEED * delta;
-
-        float maxX = worldWidth - playerTexture.getWidth() * PLAYER_SCALE;
-        float maxY = worldHeight - playerTexture.getHeight() * PLAYER_SCALE;
-        playerPos.x = MathUtils.clamp(playerPos.x, 0, maxX);
-        playerPos.y = MathUtils.clamp(playerPos.y, 0, maxY);
-
-        if (Gdx.input.justTouched()) {
-            Vector3 click = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            camera.unproject(click);
-            Vector2 start = new Vector2(playerPos.x + playerTexture.getWidth() * PLAYER_SCALE / 2f,
-                    playerPos.y + playerTexture.getHeight() * PLAYER_SCALE / 2f);
-            Vector2 target = new Vector2(click.x, click.y);
-            stars.add(new Star(start, target, starTexture));
-            shootSound.play();
-        }
+    /**
+     * @return The simulation this screen drives.
+     */
+    public World getWorld() {
+        return world;
     }
 
     @Override public void resize(int width, int height) {}
     @Override public void pause() {}
     @Override public void resume() {}
-    @Override public void hide() {}
-    @Override public void show() {}
+
+    /**
+     * Routes input events to the queue the simulation consumes.
+     */
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(input);
+    }
+
+    @Override
+    public void hide() {
+        Gdx.input.setInputProcessor(null);
+    }
 
     /**
      * Releases all assets and resources.
      */
     @Override
     public void dispose() {
-        background.dispose();
-        playerTexture.dispose();
-        enemyTexture.dispose();
-        goalTexture.dispose();
-        starTexture.dispose();
-        shootSound.dispose();
-        loseSound.dispose();
+        closeReplay();
+        mapRenderer.dispose();
+        game.release(GAMEPLAY_ATLAS);
     }
 }
@@ -0,0 +1,123 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+
+import java.util.Arrays;
+
+/**
+ * Records key and touch events with the time they happened, so the simulation can apply each one
+ * in the tick it belongs to instead of sampling input once per frame. No event is lost when several
+ * arrive within one frame. Events are stored in primitive arrays that grow on demand; recording does
+ * not allocate once they are large enough.
+ */
+public class InputQueue extends InputAdapter {
+    public static final int KEY_DOWN = 0;
+    public static final int KEY_UP = 1;
+    public static final int TOUCH_DOWN = 2;
+
+    private int[] types = new int[32];
+    private int[] codes = new int[32];
+    private int[] xs = new int[32];
+    private int[] ys = new int[32];
+    private long[] times = new long[32];
+    private int size;
+
+    @Override
+    public boolean keyDown(int keycode) {
+        add(KEY_DOWN, keycode, 0, 0);
+        return true;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        add(KEY_UP, keycode, 0, 0);
+        return true;
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        add(TOUCH_DOWN, button, screenX, screenY);
+        return true;
+    }
+
+    private void add(int type, int code, int x, int y) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            times = Arrays.copyOf(times, capacity);
+        }
+        // Backends stamp events with System.nanoTime() when the OS delivers them; 0 means no stamp.
+        long time = Gdx.input.getCurrentEventTime();
+        types[size] = type;
+        codes[size] = code;
+        xs[size] = x;
+        ys[size] = y;
+        times[size] = time != 0 ? time : System.nanoTime();
+        size++;
+    }
+
+    /**
+     * @return Number of recorded events, oldest first.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@link #KEY_DOWN}, {@link #KEY_UP} or {@link #TOUCH_DOWN}.
+     */
+    public int getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * @return Key code of a key event, or mouse button of a touch event.
+     */
+    public int getCode(int index) {
+        return codes[index];
+    }
+
+    /**
+     * @return Screen x of a touch event, in pixels from the left.
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * @return Screen y of a touch event, in pixels from the top.
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * @return Time of the event in System.nanoTime() units.
+     */
+    public long getTime(int index) {
+        return times[index];
+    }
+
+    /**
+     * Removes the oldest events once they have been applied.
+     * @param count Number of events to remove from the front.
+     */
+    public void removeFirst(int count) {
+        if (count == 0) return;
+        int remaining = size - count;
+        System.arraycopy(types, count, types, 0, remaining);
+        System.arraycopy(codes, count, codes, 0, remaining);
+        System.arraycopy(xs, count, xs, 0, remaining);
+        System.arraycopy(ys, count, ys, 0, remaining);
+        System.arraycopy(times, count, times, 0, remaining);
+        size = remaining;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,129 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Loads queued assets in the background while drawing a progress bar, then hands over to the next screen.
+ * Images decode on the {@link PixmapDecoder}'s workers; what must run on the render thread, such as
+ * GPU uploads, gets a bounded slice of every frame, so the window keeps drawing during loads.
+ * The screen holds a reference to every queued asset until the next screen has acquired its own,
+ * and disposes itself once it has handed over.
+ */
+public class LoadingScreen implements Screen {
+    /** Render-thread time per frame spent finishing assets, including GPU uploads. */
+    private static final int UPDATE_MILLIS = 8;
+    private static final float BAR_WIDTH = 400;
+    private static final float BAR_HEIGHT = 24;
+
+    private final MyGdxGame game;
+    private final Runnable onLoaded;
+    private final Array<String> queued = new Array<>();
+    private final ShapeRenderer shapes = new ShapeRenderer();
+    private final StringBuilder text = new StringBuilder(16);
+    private boolean done;
+
+    /**
+     * @param game Main game instance.
+     * @param onLoaded Runs once everything queued is loaded; it must acquire what it needs and set the next screen.
+     */
+    public LoadingScreen(MyGdxGame game, Runnable onLoaded) {
+        this.game = game;
+        this.onLoaded = onLoaded;
+    }
+
+    /**
+     * Queues an asset to be loaded before the next screen is created. Images, and the page images of
+     * an atlas, start decoding on the decoder's workers right away, in parallel with each other.
+     * @param fileName Internal path of the asset.
+     * @param type Asset class, e.g. Texture, Pixmap or TextureAtlas.
+     */
+    public void queue(String fileName, Class<?> type) {
+        prefetch(fileName, type);
+        game.preload(fileName, type);
+        queued.add(fileName);
+    }
+
+    private void prefetch(String fileName, Class<?> type) {
+        // A loaded asset only gains a reference and is never read again, so its pixmap would never be taken.
+        if (game.assets.isLoaded(fileName)) return;
+        FileHandle file = game.assets.getFileHandleResolver().resolve(fileName);
+        if (type == Texture.class || type == Pixmap.class) {
+            game.decoder.prefetch(file);
+        } else if (type == TextureAtlas.class) {
+            // The atlas loader only queues its pages once it has read the .atlas; reading it here as well
+            // lets the pages decode while earlier assets finish. Pages are named relative to the atlas.
+            TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(file, file.parent(), false);
+            for (TextureAtlas.TextureAtlasData.Page page : data.getPages()) {
+                prefetch(page.textureFile.path(), Texture.class);
+            }
+        }
+    }
+
+    @Override
+    public void render(float delta) {
+        if (!done && game.assets.update(UPDATE_MILLIS)) {
+            done = true;
+            logTimings();
+            onLoaded.run();
+            for (String fileName : queued) game.release(fileName);
+            dispose();
+            return;
+        }
+
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float progress = game.assets.getProgress();
+        float x = (Gdx.graphics.getWidth() - BAR_WIDTH) / 2f, y = Gdx.graphics.getHeight() / 2f - BAR_HEIGHT / 2f;
+        shapes.setProjectionMatrix(game.stage.getCamera().combined);
+        shapes.begin(ShapeRenderer.ShapeType.Filled);
+        shapes.setColor(Color.DARK_GRAY);
+        shapes.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        shapes.setColor(Color.WHITE);
+        shapes.rect(x, y, BAR_WIDTH * progress, BAR_HEIGHT);
+        shapes.end();
+
+        text.setLength(0);
+        text.append("Loading ").append((int) (progress * 100)).append('%');
+        BitmapFont font = game.skin.getFont("default");
+        game.batch.setProjectionMatrix(game.stage.getCamera().combined);
+        game.batch.begin();
+        font.draw(game.batch, text, x, y + BAR_HEIGHT + 2 * font.getLineHeight());
+        game.batch.end();
+    }
+
+    private void logTimings() {
+        for (String fileName : queued) {
+            String path = game.assets.getFileHandleResolver().resolve(fileName).path();
+            float decode = game.decoder.getDecodeMillis(path);
+            if (decode < 0) continue;
+            float upload = game.decoder.getUploadMillis(path);
+            Gdx.app.log("Loading", String.format("%s decode %.1f ms%s", fileName, decode,
+                    upload >= 0 ? String.format(", upload %.1f ms", upload) : ""));
+        }
+    }
+
+    @Override public void show() {}
+    @Override public void resize(int width, int height) {}
+    @Override public void pause() {}
+    @Override public void resume() {}
+    @Override public void hide() {}
+
+    /**
+     * Releases the progress bar's renderer.
+     */
+    @Override
+    public void dispose() {
+        shapes.dispose();
+    }
+}
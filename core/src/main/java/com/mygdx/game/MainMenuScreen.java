@@ -18,16 +18,31 @@ public class MainMenuScreen implements Screen {
     private int screenWidth;
     private int screenHeight;
 
+    private static final String BACKGROUND = "background.png";
+    private static final String START = "start.png";
+    private static final String EXIT = "exit.png";
+    private static final String TITLE = "mazeofmagic.png";
+
+    /**
+     * Queues the menu's textures, so the constructor finds them loaded.
+     */
+    public static void queueAssets(LoadingScreen loading) {
+        loading.queue(BACKGROUND, Texture.class);
+        loading.queue(START, Texture.class);
+        loading.queue(EXIT, Texture.class);
+        loading.queue(TITLE, Texture.class);
+    }
+
     /**
      * Initializes the main menu screen and loads assets.
      * @param game Main game reference
      */
     public MainMenuScreen(final MyGdxGame game) {
         this.game = game;
-        background = new Texture("background.png");
-        startButton = new Texture("start.png");
-        exitButton = new Texture("exit.png");
-        titleImage = new Texture("mazeofmagic.png");
+        background = game.acquire(BACKGROUND, Texture.class);
+        startButton = game.acquire(START, Texture.class);
+        exitButton = game.acquire(EXIT, Texture.class);
+        titleImage = game.acquire(TITLE, Texture.class);
 
         screenWidth = Gdx.graphics.getWidth();
         screenHeight = Gdx.graphics.getHeight();
@@ -72,7 +87,7 @@ public class MainMenuScreen implements Screen {
 
             if (touchX >= startX && touchX <= startX + buttonWidth &&
                 touchY >= buttonY && touchY <= buttonY + buttonHeight) {
-                game.setScreen(new GameScreen(game));
+                game.startGame();
                 dispose();
             }
 
@@ -93,9 +108,9 @@ public class MainMenuScreen implements Screen {
      */
     @Override
     public void dispose() {
-        background.dispose();
-        startButton.dispose();
-        exitButton.dispose();
-        titleImage.dispose();
+        game.release(BACKGROUND);
+        game.release(START);
+        game.release(EXIT);
+        game.release(TITLE);
     }
 }
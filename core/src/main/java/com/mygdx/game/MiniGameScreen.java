@@ -2,26 +2,19 @@ package com.mygdx.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
-import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
-import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
-import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
-import com.badlogic.gdx.utils.viewport.ScreenViewport;
-import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.audio.Music;
 
 
 import java.util.ArrayList;
@@ -30,8 +23,14 @@ import java.util.ArrayList;
  * Upon success, a win image and sound are shown, and the player can exit the game.
  */
 public class MiniGameScreen implements Screen {
+    private static final String BACKGROUND = "background3.png";
+    private static final String WIN_IMAGE = "you win.png";
+    private static final String EXIT = "exit.png";
+    private static final String WIN_MUSIC = "win.wav";
+
     private final MyGdxGame game;
-    private Stage stage;
+    /** Everything this screen shows; put on the shared stage while the screen is shown. */
+    private final Group root = new Group();
     private Texture background;
     private Texture winImage;
     private Texture exitTexture;
@@ -43,7 +42,19 @@ public class MiniGameScreen implements Screen {
     private Image winDisplay;
     private ImageButton exitButton;
 
-    private Sound winSound;
+    private Music winMusic;
+
+    private static final String[] BUTTON_COLORS = {"red", "green", "blue", "yellow"};
+
+    /**
+     * Queues the screen's textures and win jingle, so the constructor finds them loaded.
+     */
+    public static void queueAssets(LoadingScreen loading) {
+        loading.queue(BACKGROUND, Texture.class);
+        loading.queue(WIN_IMAGE, Texture.class);
+        loading.queue(EXIT, Texture.class);
+        loading.queue(WIN_MUSIC, Music.class);
+    }
 
     /**
      * Constructs the MiniGameScreen, initializes UI elements and loads assets.
@@ -51,47 +62,29 @@ public class MiniGameScreen implements Screen {
      */
     public MiniGameScreen(MyGdxGame game) {
         this.game = game;
-        stage = new Stage(new ScreenViewport());
-        Gdx.input.setInputProcessor(stage);
 
-        background = new Texture("background3.png");
-        winImage = new Texture("you win.png");
-        exitTexture = new Texture("exit.png");
+        background = game.acquire(BACKGROUND, Texture.class);
+        winImage = game.acquire(WIN_IMAGE, Texture.class);
+        exitTexture = game.acquire(EXIT, Texture.class);
 
-        winSound = Gdx.audio.newSound(Gdx.files.internal("win.wav"));
-
-        Skin skin = new Skin();
-        BitmapFont font = new BitmapFont();
-        skin.add("default", font);
-        TextButtonStyle textStyle = new TextButtonStyle();
-        textStyle.font = font;
-        skin.add("default", textStyle);
+        // The win jingle is long, so it is streamed instead of decoded into memory up front.
+        winMusic = game.acquire(WIN_MUSIC, Music.class);
 
         mainTable = new Table();
         mainTable.setFillParent(true);
         mainTable.top().center();
-        stage.addActor(mainTable);
+        root.addActor(mainTable);
 
-        Label.LabelStyle labelStyle = new Label.LabelStyle(font, Color.WHITE);
-        Label instructionLabel = new Label("Try to click the buttons in the correct order", labelStyle);
+        Label instructionLabel = new Label("Try to click the buttons in the correct order", game.skin);
         instructionLabel.setFontScale(2f);
         instructionLabel.setAlignment(Align.center);
         mainTable.add(instructionLabel).colspan(4).padTop(40).padBottom(60).row();
 
-        String[] normalPaths = {
-                "btn_red.png", "btn_green.png", "btn_blue.png", "btn_yellow.png"
-        };
-        String[] selectedPaths = {
-                "btn_red_selected.png", "btn_green_selected.png", "btn_blue_selected.png", "btn_yellow_selected.png"
-        };
-
         for (int i = 0; i < 4; i++) {
             final int index = i;
 
-            TextureRegionDrawable up = new TextureRegionDrawable(new TextureRegion(new Texture(normalPaths[i])));
-            TextureRegionDrawable down = new TextureRegionDrawable(new TextureRegion(new Texture(selectedPaths[i])));
-
-            ImageButton button = new ImageButton(up, down);
+            ImageButton button = new ImageButton(game.skin.getDrawable("btn_" + BUTTON_COLORS[i]),
+                    game.skin.getDrawable("btn_" + BUTTON_COLORS[i] + "_selected"));
             button.setSize(128, 128);
             button.getImageCell().size(128, 128);
 
@@ -112,7 +105,7 @@ public class MiniGameScreen implements Screen {
                 Gdx.graphics.getWidth() / 2f - 300,
                 Gdx.graphics.getHeight() / 2f + 60
         );
-        stage.addActor(winDisplay);
+        root.addActor(winDisplay);
 
         TextureRegionDrawable exitDrawable = new TextureRegionDrawable(new TextureRegion(exitTexture));
         exitButton = new ImageButton(exitDrawable);
@@ -129,7 +122,7 @@ public class MiniGameScreen implements Screen {
                 Gdx.app.exit();
             }
         });
-        stage.addActor(exitButton);
+        root.addActor(exitButton);
     }
     /**
      * Handles button clicks in the mini-game. If the correct sequence is entered, it shows the win image and exits.
@@ -151,7 +144,7 @@ public class MiniGameScreen implements Screen {
                 winDisplay.setVisible(true);
                 exitButton.setVisible(true);
                 mainTable.setVisible(false);
-                winSound.play(); 
+                winMusic.play(); 
             } else {
                 userInput.clear();
             }
@@ -159,8 +152,19 @@ public class MiniGameScreen implements Screen {
     }
 
 
+    /**
+     * Starts the puzzle over and routes input to the buttons; the screen is reused, so this happens on every visit.
+     */
     @Override
-    public void show() {}
+    public void show() {
+        userInput.clear();
+        mainTable.setVisible(true);
+        winDisplay.setVisible(false);
+        exitButton.setVisible(false);
+        root.setSize(game.stage.getWidth(), game.stage.getHeight());
+        game.stage.addActor(root);
+        Gdx.input.setInputProcessor(game.stage);
+    }
     /**
      * Renders the background and UI each frame.
      * @param delta Time since the last frame.
@@ -175,31 +179,32 @@ public class MiniGameScreen implements Screen {
         game.batch.draw(background, offsetX, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         game.batch.end();
 
-        stage.act(delta);
-        stage.draw();
+        game.stage.act(delta);
+        game.stage.draw();
     }
     /**
-     * Called when the screen is resized.
-     * @param width New width.
-     * @param height New height.
+     * Keeps the root covering the screen for the fill-parent table; the shared stage's viewport is updated by MyGdxGame.
      */
     @Override
     public void resize(int width, int height) {
-        stage.getViewport().update(width, height, true);
+        root.setSize(width, height);
     }
 
     @Override public void pause() {}
     @Override public void resume() {}
-    @Override public void hide() {}
+    @Override
+    public void hide() {
+        root.remove();
+        Gdx.input.setInputProcessor(null);
+    }
     /**
      * Releases all assets and resources.
      */
     @Override
     public void dispose() {
-        stage.dispose();
-        background.dispose();
-        winImage.dispose();
-        exitTexture.dispose();
-        winSound.dispose();
+        game.release(BACKGROUND);
+        game.release(WIN_IMAGE);
+        game.release(EXIT);
+        game.release(WIN_MUSIC);
     }
 }
@@ -1,7 +1,24 @@
 package com.mygdx.game;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
 /**
  * Main game class that sets up the initial screen and manages shared resources.
@@ -9,6 +26,44 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 public class MyGdxGame extends Game {
     /** Shared SpriteBatch used for drawing across screens */
     public SpriteBatch batch;
+    /** Shared, reference-counted asset cache used by every screen */
+    public AssetManager assets;
+    /** Decodes queued images on worker threads ahead of the asset manager */
+    public PixmapDecoder decoder;
+    /** Shared UI skin: the default font and label style, plus every region of the buttons atlas as a drawable once the first run has loaded */
+    public Skin skin;
+    /** Shared scene2d stage drawn through the shared batch; each UI screen puts its root group on it while shown */
+    public Stage stage;
+    /** Debug overlay with frame timing and GL counters, toggled with F3 */
+    public PerformanceOverlay overlay;
+    /** Splits large enemy waves across cores; null where fork-join is unavailable or only one core exists */
+    public ParallelUpdater parallelUpdater;
+    /** Entity count from which waves are split across cores, or -1 to measure it when the first run loads; the launcher may set one found with ParallelUpdateBenchmark */
+    public int parallelThreshold = -1;
+    /** Voice-limited playback of the short effects, which stay loaded for the app's lifetime */
+    public SoundEffects sfx;
+    /** Absolute path of the file each run's input is recorded to, or null; set by the launcher */
+    public String recordPath;
+    /** Absolute path of a recording that runs are played back from instead of live input, or null; set by the launcher */
+    public String replayPath;
+
+    /** Short effects decoded once with the first run's assets, so screens never decode them again */
+    public static final String SHOOT_SOUND = "shoot.mp3";
+    public static final String LOSE_SOUND = "lose.wav";
+    public static final String BUTTONS_ATLAS = "atlas/buttons.atlas";
+    /** Largest enemy wave the parallel threshold is calibrated on; larger waves are split if this one is */
+    private static final int CALIBRATION_ENEMIES = 4096;
+
+    // Screens that are visited repeatedly are created with the first run and kept until the app exits.
+    private GameScreen gameScreen;
+    private GameOverScreen gameOverScreen;
+    private MiniGameScreen miniGameScreen;
+    /**
+     * References handed out per asset name. The asset manager holds a single reference to each of these
+     * assets, taken with the first and dropped with the last, so its own counting never sees a release
+     * while the same name is still queued.
+     */
+    private final ObjectIntMap<String> references = new ObjectIntMap<>();
 
     /**
      * Called once when the application is started.
@@ -17,22 +72,199 @@ public class MyGdxGame extends Game {
     @Override
     public void create() {
         batch = new SpriteBatch();
-        this.setScreen(new MainMenuScreen(this));
+        FileHandleResolver resolver = new CompressedAudioResolver(new CompressedTextureResolver());
+        assets = new AssetManager(resolver);
+        // One core is left to the render thread.
+        decoder = new PixmapDecoder(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        assets.setLoader(Texture.class, new PixmapDecoder.DecodedTextureLoader(resolver, decoder));
+        assets.setLoader(Pixmap.class, new PixmapDecoder.DecodedPixmapLoader(resolver, decoder));
+        sfx = new SoundEffects();
+        overlay = new PerformanceOverlay();
+        createUi();
+        // Only what the menu needs is loaded here; everything else waits for the first run, see startGame().
+        LoadingScreen loading = new LoadingScreen(this, new Runnable() {
+            @Override
+            public void run() {
+                setScreen(new MainMenuScreen(MyGdxGame.this));
+            }
+        });
+        MainMenuScreen.queueAssets(loading);
+        this.setScreen(loading);
+    }
+
+    private void createUi() {
+        skin = new Skin();
+        BitmapFont font = new BitmapFont();
+        skin.add("default", font);
+        skin.add("default", new Label.LabelStyle(font, Color.WHITE));
+        stage = new Stage(new ScreenViewport(), batch);
     }
 
     /**
-     * Delegates rendering to the current screen.
+     * Delegates rendering to the current screen and draws the performance overlay on top.
      */
     @Override
     public void render() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) overlay.toggle();
+        overlay.beginFrame();
+        sfx.update(Gdx.graphics.getDeltaTime());
         super.render(); // Delegates to active screen
+        overlay.setVoices(sfx.getActiveVoices(), sfx.getStolenVoices(), sfx.getCoalescedPlays());
+        overlay.render(batch);
+    }
+
+    /**
+     * Starts a new run. The first run loads the gameplay assets behind a loading screen, together with
+     * those of the game over screen and the mini-game, so ending a run never loads anything; later runs
+     * reset the gameplay screen in place, so the map and sprites stay loaded across restarts.
+     */
+    public void startGame() {
+        if (gameScreen != null) {
+            gameScreen.reset();
+            setScreen(gameScreen);
+            return;
+        }
+        // Parsed once: the loading screen needs its tileset names and the gameplay screen its layers.
+        final TileMap map = GameScreen.loadMap();
+        LoadingScreen loading = new LoadingScreen(this, new Runnable() {
+            @Override
+            public void run() {
+                createGameplay();
+                gameScreen = new GameScreen(MyGdxGame.this, map);
+                gameOverScreen = new GameOverScreen(MyGdxGame.this);
+                miniGameScreen = new MiniGameScreen(MyGdxGame.this);
+                setScreen(gameScreen);
+            }
+        });
+        GameScreen.queueAssets(loading, map);
+        GameOverScreen.queueAssets(loading);
+        MiniGameScreen.queueAssets(loading);
+        loading.queue(SHOOT_SOUND, Sound.class);
+        loading.queue(LOSE_SOUND, Sound.class);
+        loading.queue(BUTTONS_ATLAS, TextureAtlas.class);
+        setScreen(loading);
+    }
+
+    /**
+     * Sets up what runs and the screens after them share, once their assets are loaded. Kept out of
+     * create(), so none of it delays the first frame of the main menu.
+     */
+    private void createGameplay() {
+        // Rapid fire overlaps a few shots; a second loss jingle would only muddy the first.
+        sfx.add(SHOOT_SOUND, acquire(SHOOT_SOUND, Sound.class), 4, clipDuration(SHOOT_SOUND));
+        sfx.add(LOSE_SOUND, acquire(LOSE_SOUND, Sound.class), 1, clipDuration(LOSE_SOUND));
+        // Regions only; the atlas stays owned by the asset manager, so the skin must not be built around it.
+        skin.addRegions(acquire(BUTTONS_ATLAS, TextureAtlas.class));
+        // ForkJoinPool needs Android API 21, above our minimum, so only desktop updates in parallel.
+        if (Gdx.app.getType() == Application.ApplicationType.Desktop && Runtime.getRuntime().availableProcessors() > 1) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            parallelUpdater = new ParallelUpdater(cores, parallelThreshold);
+            if (parallelThreshold < 0) {
+                // Measured once per launch, on the enemy job itself; the result is kept for every later run.
+                parallelThreshold = new World(new WorldConfig()).calibrate(parallelUpdater, CALIBRATION_ENEMIES);
+                Gdx.app.log("ParallelUpdater", parallelThreshold == Integer.MAX_VALUE
+                        ? "Serial updates were faster up to " + CALIBRATION_ENEMIES + " enemies"
+                        : "Waves of " + parallelThreshold + " enemies or more are split across " + cores + " cores");
+            }
+        }
+    }
+
+    /**
+     * @return Length of a clip as loaded, which is the transcoded file where the build made one.
+     */
+    private float clipDuration(String fileName) {
+        return ClipDuration.seconds(assets.getFileHandleResolver().resolve(fileName));
+    }
+
+    /**
+     * Shows the game over screen after a lost run.
+     */
+    public void showGameOver() {
+        setScreen(gameOverScreen);
+    }
+
+    /**
+     * Shows the mini-game after the goal was reached.
+     */
+    public void showMiniGame() {
+        setScreen(miniGameScreen);
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        super.resize(width, height);
+        stage.getViewport().update(width, height, true);
+        overlay.resize(width, height);
     }
+
+    /**
+     * Returns a shared asset, loading it only if no other screen holds it yet.
+     * Every call must be balanced by {@link #release(String)} when the caller is done with the asset.
+     * An asset that is not loaded yet is finished on the calling thread, together with whatever is
+     * queued ahead of it, so call it once a loading screen is done.
+     * @param fileName Internal path of the asset.
+     * @param type Asset class, e.g. Texture, Sound or Music.
+     * @return The loaded asset.
+     */
+    public <T> T acquire(String fileName, Class<T> type) {
+        preload(fileName, type);
+        return assets.finishLoadingAsset(fileName);
+    }
+
+    /**
+     * Takes a reference to a shared asset without waiting for it: the asset manager's update() loads it
+     * in the background if no one holds it yet. Balance it with {@link #release(String)} like {@link #acquire}.
+     * @param fileName Internal path of the asset.
+     * @param type Asset class, e.g. Texture, Pixmap or TextureAtlas.
+     */
+    public void preload(String fileName, Class<?> type) {
+        int count = references.getAndIncrement(fileName, 0, 1);
+        if (count == 0) assets.load(fileName, type);
+    }
+
+    /**
+     * Drops one reference to a shared asset. The asset is disposed once nothing references it, or its
+     * load is cancelled if it is still queued.
+     * @param fileName Internal path of the asset.
+     */
+    public void release(String fileName) {
+        int count = references.get(fileName, 0);
+        if (count == 0) throw new GdxRuntimeException("Released " + fileName + " more often than it was acquired");
+        if (count > 1) {
+            references.put(fileName, count - 1);
+            return;
+        }
+        references.remove(fileName, 0);
+        assets.unload(fileName);
+    }
+
+    /**
+     * @return Number of references handed out for an asset and not released yet.
+     */
+    public int getReferenceCount(String fileName) {
+        return references.get(fileName, 0);
+    }
+
     /**
      * Releases all assets and resources.
      */
     @Override
     public void dispose() {
         batch.dispose();
+        overlay.dispose();
+        if (parallelUpdater != null) parallelUpdater.shutdown();
         super.dispose();
+        if (gameScreen != null) gameScreen.dispose();
+        if (gameOverScreen != null) gameOverScreen.dispose();
+        if (miniGameScreen != null) miniGameScreen.dispose();
+        stage.dispose();
+        skin.dispose();
+        if (gameScreen != null) {
+            release(BUTTONS_ATLAS);
+            release(SHOOT_SOUND);
+            release(LOSE_SOUND);
+        }
+        assets.dispose();
+        decoder.dispose();
     }
-}
\ No newline at end of file
+}
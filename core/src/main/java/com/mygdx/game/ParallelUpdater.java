@@ -0,0 +1,152 @@
+package com.mygdx.game;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits per-entity work into contiguous index ranges and runs them on a fork-join pool.
+ * Jobs must only write to the entities of their own range, so the result does not depend on
+ * how the range is split or in which order slices finish. Below a threshold the job runs
+ * serially on the calling thread, since forking costs more than it saves for small counts.
+ * <p>
+ * Where that crossover lies depends on the machine's cores and the job's cost per entity, so it is
+ * measured rather than fixed: {@link #calibrate} times both paths once at startup. ParallelUpdateBenchmark
+ * in the benchmarks module measures the same crossover in detail, and the desktop launcher takes a
+ * threshold found that way as --parallel-threshold, which skips the calibration.
+ * Requires ForkJoinPool, so it is only created on desktop; Android keeps the serial path.
+ */
+public class ParallelUpdater {
+    /** Slices per worker, so a slow slice can be balanced by stealing the others. */
+    private static final int SLICES_PER_WORKER = 4;
+    /** Smallest entity count calibration times; each further step doubles it. */
+    private static final int CALIBRATION_START = 64;
+    /** Untimed passes over the largest count first, so the job is compiled before anything is timed. */
+    private static final int WARMUP_PASSES = 20;
+    /** Timed passes per count and path; the fastest one counts, which filters out preemption and GC pauses. */
+    private static final int TIMED_PASSES = 5;
+
+    /** Work over a range of dense entity indices. */
+    public interface RangeJob {
+        /**
+         * @param from First index, inclusive.
+         * @param to Last index, exclusive.
+         */
+        void run(int from, int to);
+    }
+
+    private final ForkJoinPool pool;
+    private int threshold;
+    private final Slice[] slices;
+    private final Root root = new Root();
+
+    /**
+     * @param parallelism Number of worker threads.
+     * @param threshold Smallest entity count that is split across workers.
+     */
+    public ParallelUpdater(int parallelism, int threshold) {
+        pool = new ForkJoinPool(parallelism);
+        this.threshold = threshold;
+        slices = new Slice[parallelism * SLICES_PER_WORKER];
+        for (int i = 0; i < slices.length; i++) slices[i] = new Slice();
+    }
+
+    /**
+     * Runs a job over indices 0 to count - 1 and returns once every range is done.
+     */
+    public void run(RangeJob job, int count) {
+        if (isParallel(count)) split(job, count);
+        else job.run(0, count);
+    }
+
+    /**
+     * Times the job serially and split across the workers over doubling entity counts, and makes the
+     * smallest count at which the split pass was faster the threshold. The job must cost about the same
+     * on every call, e.g. one tick of the update it stands for, and may leave its entities changed.
+     * @param maxCount Largest count to time; the job must accept ranges up to it.
+     * @return The new threshold, or Integer.MAX_VALUE if serial passes were faster at every count.
+     */
+    public int calibrate(RangeJob job, int maxCount) {
+        threshold = Integer.MAX_VALUE;
+        if (pool.getParallelism() < 2) return threshold;
+        for (int i = 0; i < WARMUP_PASSES; i++) {
+            job.run(0, maxCount);
+            split(job, maxCount);
+        }
+        for (int count = CALIBRATION_START; count <= maxCount; count *= 2) {
+            long serial = Long.MAX_VALUE, parallel = Long.MAX_VALUE;
+            for (int i = 0; i < TIMED_PASSES; i++) {
+                long start = System.nanoTime();
+                job.run(0, count);
+                long middle = System.nanoTime();
+                split(job, count);
+                long end = System.nanoTime();
+                serial = Math.min(serial, middle - start);
+                parallel = Math.min(parallel, end - middle);
+            }
+            if (parallel < serial) {
+                threshold = count;
+                break;
+            }
+        }
+        return threshold;
+    }
+
+    /**
+     * @return Smallest entity count that is split across workers.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    private void split(RangeJob job, int count) {
+        int sliceCount = Math.min(slices.length, count);
+        for (int i = 0; i < sliceCount; i++) {
+            Slice slice = slices[i];
+            slice.reinitialize();
+            slice.job = job;
+            slice.from = (int) ((long) count * i / sliceCount);
+            slice.to = (int) ((long) count * (i + 1) / sliceCount);
+        }
+        root.reinitialize();
+        root.sliceCount = sliceCount;
+        pool.invoke(root);
+        for (int i = 0; i < sliceCount; i++) slices[i].job = null;
+    }
+
+    /**
+     * @return Whether a job over the given number of entities would run in parallel.
+     */
+    public boolean isParallel(int count) {
+        // Fewer than two entities cannot be split, whatever the threshold.
+        return count >= threshold && count > 1 && pool.getParallelism() >= 2;
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private final class Root extends RecursiveAction {
+        int sliceCount;
+
+        @Override
+        protected void compute() {
+            for (int i = 1; i < sliceCount; i++) slices[i].fork();
+            slices[0].invoke();
+            for (int i = 1; i < sliceCount; i++) slices[i].join();
+        }
+    }
+
+    private static final class Slice extends RecursiveAction {
+        RangeJob job;
+        int from;
+        int to;
+
+        @Override
+        protected void compute() {
+            job.run(from, to);
+        }
+    }
+}
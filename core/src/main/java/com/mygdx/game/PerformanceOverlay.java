@@ -0,0 +1,217 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Debug overlay with frame timing, GL counters, entity counts and memory.
+ * While hidden it only records frame times and leaves the GL profiler off; while shown it
+ * reuses one text buffer and formats numbers without allocating.
+ */
+public class PerformanceOverlay implements Disposable {
+    private static final int WINDOW = 300;
+
+    private final GLProfiler profiler;
+    private final FrameTimeHistogram frameTimes = new FrameTimeHistogram(WINDOW);
+    private final StringBuilder text = new StringBuilder(512);
+    private final Matrix4 projection = new Matrix4();
+    private final Matrix4 savedProjection = new Matrix4();
+    private final GcCounter gcCounter;
+    private BitmapFont font;
+    private boolean visible;
+
+    private long frameStart;
+    private long updateNanos;
+    private long renderNanos;
+    private int enemyCount = -1;
+    private int starCount = -1;
+    private int drawnEntities = -1;
+    private int culledEntities;
+    private int activeVoices = -1;
+    private int stolenVoices;
+    private int coalescedPlays;
+    private int drawCalls;
+    private int textureBindings;
+    private int shaderSwitches;
+
+    /**
+     * Creates the overlay hidden. GC counts are only available on desktop JVMs.
+     */
+    public PerformanceOverlay() {
+        profiler = new GLProfiler(Gdx.graphics);
+        Application.ApplicationType type = Gdx.app.getType();
+        gcCounter = type == Application.ApplicationType.Desktop
+                || type == Application.ApplicationType.HeadlessDesktop ? new GcCounter() : null;
+        projection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+    }
+
+    /**
+     * Shows or hides the overlay. The GL profiler only intercepts calls while it is shown.
+     */
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+        if (visible) {
+            if (font == null) font = new BitmapFont();
+            profiler.enable();
+        } else {
+            profiler.disable();
+        }
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void toggle() {
+        setVisible(!visible);
+    }
+
+    /**
+     * Marks the start of a frame. Call before the active screen renders.
+     */
+    public void beginFrame() {
+        long now = System.nanoTime();
+        if (frameStart != 0) frameTimes.record((now - frameStart) / 1e6f);
+        frameStart = now;
+        updateNanos = 0;
+        renderNanos = 0;
+        enemyCount = -1;
+        starCount = -1;
+        drawnEntities = -1;
+        if (visible) profiler.reset();
+    }
+
+    /**
+     * Reports how long the screen spent on simulation and on drawing this frame.
+     */
+    public void setFrameSplit(long updateNanos, long renderNanos) {
+        this.updateNanos = updateNanos;
+        this.renderNanos = renderNanos;
+    }
+
+    /**
+     * Reports the current entity counts of the gameplay screen.
+     */
+    public void setEntityCounts(int enemies, int stars) {
+        enemyCount = enemies;
+        starCount = stars;
+    }
+
+    /**
+     * Reports how many entities the gameplay screen drew and how many it culled as off-screen.
+     */
+    public void setCulling(int drawn, int culled) {
+        drawnEntities = drawn;
+        culledEntities = culled;
+    }
+
+    /**
+     * Reports the sound effect voices playing now, and how many were stolen or coalesced since startup.
+     */
+    public void setVoices(int active, int stolen, int coalesced) {
+        activeVoices = active;
+        stolenVoices = stolen;
+        coalescedPlays = coalesced;
+    }
+
+    /**
+     * Draws the overlay on top of the frame through the shared batch, if shown.
+     * The batch's projection matrix is restored afterwards.
+     */
+    public void render(SpriteBatch batch) {
+        if (!visible) return;
+        drawCalls = profiler.getDrawCalls();
+        textureBindings = profiler.getTextureBindings();
+        shaderSwitches = profiler.getShaderSwitches();
+
+        text.setLength(0);
+        text.append("FPS ").append(Gdx.graphics.getFramesPerSecond()).append('\n');
+        text.append("update ");
+        appendMillis(updateNanos / 1e6f);
+        text.append(" ms  render ");
+        appendMillis(renderNanos / 1e6f);
+        text.append(" ms\n");
+        text.append("frame p50 ");
+        appendMillis(frameTimes.percentile(50));
+        text.append(" p95 ");
+        appendMillis(frameTimes.percentile(95));
+        text.append(" p99 ");
+        appendMillis(frameTimes.percentile(99));
+        text.append(" ms\n");
+        text.append("draw calls ").append(drawCalls)
+                .append("  binds ").append(textureBindings)
+                .append("  shaders ").append(shaderSwitches).append('\n');
+        if (enemyCount >= 0) {
+            text.append("enemies ").append(enemyCount).append("  stars ").append(starCount).append('\n');
+        }
+        if (drawnEntities >= 0) {
+            text.append("drawn ").append(drawnEntities).append("  culled ").append(culledEntities).append('\n');
+        }
+        if (activeVoices >= 0) {
+            text.append("voices ").append(activeVoices).append("  stolen ").append(stolenVoices)
+                    .append("  coalesced ").append(coalescedPlays).append('\n');
+        }
+        text.append("heap ").append(Gdx.app.getJavaHeap() >> 20).append(" MB");
+        if (gcCounter != null) {
+            text.append("  gc ").append(gcCounter.collections());
+        }
+
+        savedProjection.set(batch.getProjectionMatrix());
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        font.setColor(Color.YELLOW);
+        font.draw(batch, text, 10, Gdx.graphics.getHeight() - 10);
+        batch.end();
+        batch.setProjectionMatrix(savedProjection);
+    }
+
+    /**
+     * Keeps the overlay anchored to the window after a resize.
+     */
+    public void resize(int width, int height) {
+        projection.setToOrtho2D(0, 0, width, height);
+    }
+
+    private void appendMillis(float milliseconds) {
+        int hundredths = Math.round(milliseconds * 100);
+        text.append(hundredths / 100).append('.').append(hundredths % 100, 2);
+    }
+
+    @Override
+    public void dispose() {
+        profiler.disable();
+        if (font != null) font.dispose();
+    }
+
+    /**
+     * Sums collection counts of all JVM garbage collectors. Only loaded on desktop,
+     * where java.lang.management exists.
+     */
+    private static class GcCounter {
+        private final GarbageCollectorMXBean[] collectors;
+
+        GcCounter() {
+            List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+            collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+        }
+
+        long collections() {
+            long total = 0;
+            for (int i = 0; i < collectors.length; i++) {
+                total += Math.max(0, collectors[i].getCollectionCount());
+            }
+            return total;
+        }
+    }
+}
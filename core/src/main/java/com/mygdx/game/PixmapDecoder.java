@@ -0,0 +1,206 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.PixmapLoader;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Decodes images to pixmaps on a pool of worker threads, so several files decode in parallel.
+ * The AssetManager finishes one asset at a time on a single loader thread; {@link #prefetch(FileHandle)}
+ * starts decoding queued files ahead of it, and the loaders below pick up the finished pixmaps.
+ * Texture uploads still happen in AssetManager.update(millis) on the render thread, within its time budget.
+ * Decode and upload times are recorded per file.
+ */
+public class PixmapDecoder implements Disposable {
+    private final ExecutorService pool;
+    private final Map<String, Future<Pixmap>> pending = new ConcurrentHashMap<>();
+    /** Decode and upload nanoseconds per file path; upload is -1 until the file has been uploaded. */
+    private final Map<String, long[]> timings = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads Number of decoding threads.
+     */
+    public PixmapDecoder(int threads) {
+        pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "PixmapDecoder");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * @return Whether the file is an image format Pixmap decodes, as opposed to e.g. a compressed .ktx texture.
+     */
+    public static boolean canDecode(FileHandle file) {
+        String extension = file.extension().toLowerCase();
+        return extension.equals("png") || extension.equals("jpg") || extension.equals("jpeg") || extension.equals("bmp");
+    }
+
+    /**
+     * Starts decoding a file on a worker unless it is already being decoded. Safe to call from any thread.
+     */
+    public void prefetch(final FileHandle file) {
+        if (!canDecode(file) || pending.containsKey(file.path())) return;
+        pending.put(file.path(), pool.submit(new Callable<Pixmap>() {
+            @Override
+            public Pixmap call() {
+                return decode(file);
+            }
+        }));
+    }
+
+    /**
+     * @return Whether a prefetch of the file was started and its pixmap not taken yet.
+     */
+    boolean isPrefetched(String path) {
+        return pending.containsKey(path);
+    }
+
+    /**
+     * Returns the decoded pixmap of a file, waiting for a prefetch in progress or decoding it on the
+     * calling thread if none was started. The caller owns the pixmap.
+     */
+    public Pixmap take(FileHandle file) {
+        Future<Pixmap> future = pending.remove(file.path());
+        if (future == null) return decode(file);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while decoding " + file, e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Cannot decode " + file, e.getCause());
+        }
+    }
+
+    private Pixmap decode(FileHandle file) {
+        long start = System.nanoTime();
+        Pixmap pixmap = new Pixmap(file);
+        timings.put(file.path(), new long[] {System.nanoTime() - start, -1});
+        return pixmap;
+    }
+
+    private void recordUpload(FileHandle file, long nanos) {
+        long[] timing = timings.get(file.path());
+        if (timing != null) timing[1] = nanos;
+    }
+
+    /**
+     * @return Time spent decoding a file in milliseconds, or -1 if it was not decoded by this service.
+     */
+    public float getDecodeMillis(String path) {
+        long[] timing = timings.get(path);
+        return timing != null ? timing[0] / 1e6f : -1;
+    }
+
+    /**
+     * @return Time spent uploading a file's texture on the render thread in milliseconds, or -1 if it was not uploaded.
+     */
+    public float getUploadMillis(String path) {
+        long[] timing = timings.get(path);
+        return timing != null && timing[1] >= 0 ? timing[1] / 1e6f : -1;
+    }
+
+    /**
+     * Stops the workers and disposes pixmaps that were prefetched but never taken.
+     */
+    @Override
+    public void dispose() {
+        pool.shutdownNow();
+        for (Future<Pixmap> future : pending.values()) {
+            // Decodes that never started were dropped by shutdownNow(), so their futures would never complete.
+            if (future.cancel(false)) continue;
+            try {
+                future.get().dispose();
+            } catch (Exception ignored) {
+                // Cancelled or failed decodes hold no pixmap.
+            }
+        }
+        pending.clear();
+    }
+
+    /** Texture loader that takes its pixel data from the decoder and times the upload. */
+    public static class DecodedTextureLoader extends TextureLoader {
+        private final PixmapDecoder decoder;
+        /** Parameters handed to the base loader; only touched on the asset manager's loader thread. */
+        private final TextureParameter decoded = new TextureParameter();
+
+        public DecodedTextureLoader(FileHandleResolver resolver, PixmapDecoder decoder) {
+            super(resolver);
+            this.decoder = decoder;
+        }
+
+        @Override
+        public void loadAsync(AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+            if ((parameter != null && parameter.textureData != null) || !canDecode(file)) {
+                super.loadAsync(manager, fileName, file, parameter);
+                return;
+            }
+            // Managed like a texture loaded from the file, so it is reloaded from disk after a context loss.
+            decoded.textureData = new FileTextureData(file, decoder.take(file),
+                    parameter != null ? parameter.format : null, parameter != null && parameter.genMipMaps);
+            decoded.texture = parameter != null ? parameter.texture : null;
+            super.loadAsync(manager, fileName, file, decoded);
+            decoded.textureData = null;
+            decoded.texture = null;
+        }
+
+        @Override
+        public Texture loadSync(AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+            long start = System.nanoTime();
+            Texture texture = super.loadSync(manager, fileName, file, parameter);
+            decoder.recordUpload(file, System.nanoTime() - start);
+            return texture;
+        }
+    }
+
+    /** Pixmap loader that takes its pixmaps from the decoder. */
+    public static class DecodedPixmapLoader extends AsynchronousAssetLoader<Pixmap, PixmapLoader.PixmapParameter> {
+        private final PixmapDecoder decoder;
+        private Pixmap pixmap;
+
+        public DecodedPixmapLoader(FileHandleResolver resolver, PixmapDecoder decoder) {
+            super(resolver);
+            this.decoder = decoder;
+        }
+
+        @Override
+        public void loadAsync(AssetManager manager, String fileName, FileHandle file, PixmapLoader.PixmapParameter parameter) {
+            pixmap = decoder.take(file);
+        }
+
+        @Override
+        public Pixmap loadSync(AssetManager manager, String fileName, FileHandle file, PixmapLoader.PixmapParameter parameter) {
+            Pixmap result = pixmap;
+            pixmap = null;
+            return result;
+        }
+
+        @Override
+        public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, PixmapLoader.PixmapParameter parameter) {
+            return null;
+        }
+    }
+}
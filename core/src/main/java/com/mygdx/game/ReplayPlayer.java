@@ -0,0 +1,160 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Plays a run written by {@link ReplayRecorder} back into a {@link World}, tick for tick.
+ * The recorded state hashes are compared at every checkpoint, and a mismatch fails the replay
+ * with the tick it diverged at. It does not need a GL context, so replays run headless as well
+ * as on screen.
+ */
+public class ReplayPlayer {
+    private final FileHandle file;
+    private final DataInputStream in;
+    private final int tickRate;
+    private final WorldConfig config = new WorldConfig();
+    private final long wallsHash;
+
+    private int nextType;
+    private long nextTick;
+    private float moveX;
+    private float moveY;
+    private int checkpoints;
+    private boolean finished;
+
+    /**
+     * Opens a replay and reads its header.
+     */
+    public ReplayPlayer(FileHandle file) {
+        this.file = file;
+        in = new DataInputStream(new BufferedInputStream(file.read()));
+        try {
+            if (in.readInt() != ReplayRecorder.MAGIC) throw new GdxRuntimeException("Not a replay: " + file);
+            int version = in.readShort();
+            if (version != ReplayRecorder.VERSION) {
+                throw new GdxRuntimeException("Unsupported replay version " + version + ": " + file);
+            }
+            tickRate = in.readInt();
+            ReplayRecorder.readConfig(in, config);
+            wallsHash = in.readLong();
+            readRecordHeader();
+        } catch (IOException e) {
+            StreamUtils.closeQuietly(in);
+            throw new GdxRuntimeException("Cannot read replay " + file, e);
+        }
+    }
+
+    /**
+     * Copies every recorded config value into a config. Apply before the world is created, since a world
+     * sizes its flow field when it is built; resetting a world built with other sizes is not enough.
+     */
+    public void configure(WorldConfig config) {
+        config.set(this.config);
+    }
+
+    /**
+     * @return Simulation ticks per second of the recording.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Applies the recorded input of the world's next tick, steps the world and checks the state hash
+     * if the tick is a checkpoint.
+     * @return Whether a tick was simulated; false once the recording has ended.
+     */
+    public boolean step(World world) {
+        if (finished) return false;
+        long tick = world.getTick();
+        if (tick == 0 && world.walls.contentHash() != wallsHash) {
+            finish();
+            throw new GdxRuntimeException("Replay was recorded with other walls: " + file);
+        }
+        try {
+            while (nextTick == tick && nextType != ReplayRecorder.END) {
+                if (nextType == ReplayRecorder.MOVE) {
+                    moveX = in.readFloat();
+                    moveY = in.readFloat();
+                } else if (nextType == ReplayRecorder.FIRE) {
+                    world.fire(in.readFloat(), in.readFloat());
+                } else {
+                    throw new GdxRuntimeException("Unexpected replay record " + nextType + " at tick " + tick);
+                }
+                readRecordHeader();
+            }
+            if (nextType == ReplayRecorder.END && nextTick <= tick) {
+                finish();
+                return false;
+            }
+
+            world.update(1f / tickRate, moveX, moveY);
+
+            if (nextType == ReplayRecorder.CHECKPOINT && nextTick == world.getTick()) {
+                long expected = in.readLong();
+                long actual = world.stateHash();
+                if (actual != expected) {
+                    finish();
+                    throw new GdxRuntimeException("Replay diverged at tick " + world.getTick() + ": state hash "
+                            + Long.toHexString(actual) + ", recorded " + Long.toHexString(expected));
+                }
+                checkpoints++;
+                readRecordHeader();
+            }
+        } catch (EOFException e) {
+            // Cut short inside a record; the recording ends after the last complete one.
+            finish();
+            return world.getTick() != tick;
+        } catch (IOException e) {
+            finish();
+            throw new GdxRuntimeException("Cannot read replay " + file, e);
+        }
+        return true;
+    }
+
+    /**
+     * @return Number of checkpoints whose state hash matched so far.
+     */
+    public int getCheckpoints() {
+        return checkpoints;
+    }
+
+    /**
+     * @return Whether the end of the recording was reached or the replay was closed.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Closes the file. Further steps do nothing.
+     */
+    public void finish() {
+        finished = true;
+        StreamUtils.closeQuietly(in);
+    }
+
+    private void readRecordHeader() throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            // A recording cut short, e.g. by a crash, ends after its last complete record.
+            nextType = ReplayRecorder.END;
+            return;
+        }
+        nextType = type;
+        long delta = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            delta |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) break;
+        }
+        nextTick += delta;
+    }
+}
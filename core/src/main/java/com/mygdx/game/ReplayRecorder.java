@@ -0,0 +1,174 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the input of one run to a compact binary file that {@link ReplayPlayer} plays back tick for tick.
+ * The header holds everything besides input that the simulation depends on: the tick rate, every
+ * value of the world's config and a hash of its walls, so a replay keeps reproducing the recorded
+ * workload after config defaults change, or fails at once in a different maze. Each record is tagged with the tick it applies to, stored as
+ * a variable-length delta to the previous record. Movement is only written when it changes, and
+ * the world's state hash is written every {@link #CHECKPOINT_TICKS} ticks so a replay can detect divergence.
+ */
+public class ReplayRecorder {
+    static final int MAGIC = 0x4d5a5250; // "MZRP"
+    static final int VERSION = 2;
+    static final int MOVE = 0;
+    static final int FIRE = 1;
+    static final int CHECKPOINT = 2;
+    static final int END = 3;
+    /** Ticks between state hashes; one second at the default tick rate. */
+    public static final int CHECKPOINT_TICKS = 60;
+
+    private final DataOutputStream out;
+    private long lastTick;
+    private float moveX;
+    private float moveY;
+    private boolean closed;
+
+    /**
+     * Starts a recording. Must be created right after the world was reset, before its first tick.
+     * @param file File to write; an existing one is replaced.
+     * @param world The recorded world.
+     * @param tickRate Simulation ticks per second.
+     */
+    public ReplayRecorder(FileHandle file, World world, int tickRate) {
+        out = new DataOutputStream(new BufferedOutputStream(file.write(false)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(tickRate);
+            writeConfig(out, world.config);
+            out.writeLong(world.walls.contentHash());
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay " + file, e);
+        }
+    }
+
+    /**
+     * Records the movement input of the tick the world is about to simulate, if it changed.
+     */
+    public void move(World world, float x, float y) {
+        if (x == moveX && y == moveY) return;
+        moveX = x;
+        moveY = y;
+        writeRecord(MOVE, world.getTick());
+        writeFloat(x);
+        writeFloat(y);
+    }
+
+    /**
+     * Records a star fired toward a world position before the world's next tick.
+     */
+    public void fire(World world, float targetX, float targetY) {
+        writeRecord(FIRE, world.getTick());
+        writeFloat(targetX);
+        writeFloat(targetY);
+    }
+
+    /**
+     * Records the world's state hash if the tick just simulated is a checkpoint. Call after every tick.
+     */
+    public void checkpoint(World world) {
+        if (world.getTick() % CHECKPOINT_TICKS != 0) return;
+        writeRecord(CHECKPOINT, world.getTick());
+        try {
+            out.writeLong(world.stateHash());
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay", e);
+        }
+    }
+
+    /**
+     * Marks the end of the run at the world's current tick and closes the file. Does nothing if already closed.
+     */
+    public void close(World world) {
+        if (closed) return;
+        closed = true;
+        writeRecord(END, world.getTick());
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay", e);
+        }
+    }
+
+    /**
+     * Writes every config value in header order; {@link #readConfig} reads them back in the same order.
+     */
+    static void writeConfig(DataOutputStream out, WorldConfig config) throws IOException {
+        out.writeFloat(config.worldWidth);
+        out.writeFloat(config.worldHeight);
+        out.writeFloat(config.spawnWidth);
+        out.writeFloat(config.spawnHeight);
+        out.writeFloat(config.playerWidth);
+        out.writeFloat(config.playerHeight);
+        out.writeFloat(config.playerSpeed);
+        out.writeFloat(config.playerStartX);
+        out.writeFloat(config.playerStartY);
+        out.writeFloat(config.enemyWidth);
+        out.writeFloat(config.enemyHeight);
+        out.writeFloat(config.enemySpawnInterval);
+        out.writeInt(config.flowFieldTilesPerTick);
+        out.writeFloat(config.starWidth);
+        out.writeFloat(config.starHeight);
+        out.writeFloat(config.goalX);
+        out.writeFloat(config.goalY);
+        out.writeFloat(config.goalWidth);
+        out.writeFloat(config.goalHeight);
+        out.writeLong(config.seed);
+    }
+
+    static void readConfig(DataInputStream in, WorldConfig config) throws IOException {
+        config.worldWidth = in.readFloat();
+        config.worldHeight = in.readFloat();
+        config.spawnWidth = in.readFloat();
+        config.spawnHeight = in.readFloat();
+        config.playerWidth = in.readFloat();
+        config.playerHeight = in.readFloat();
+        config.playerSpeed = in.readFloat();
+        config.playerStartX = in.readFloat();
+        config.playerStartY = in.readFloat();
+        config.enemyWidth = in.readFloat();
+        config.enemyHeight = in.readFloat();
+        config.enemySpawnInterval = in.readFloat();
+        config.flowFieldTilesPerTick = in.readInt();
+        config.starWidth = in.readFloat();
+        config.starHeight = in.readFloat();
+        config.goalX = in.readFloat();
+        config.goalY = in.readFloat();
+        config.goalWidth = in.readFloat();
+        config.goalHeight = in.readFloat();
+        config.seed = in.readLong();
+    }
+
+    private void writeRecord(int type, long tick) {
+        try {
+            out.writeByte(type);
+            // Ticks only move forward, and records mostly follow each other closely, so the delta is small.
+            long delta = tick - lastTick;
+            while (delta >= 0x80) {
+                out.writeByte((int) (delta & 0x7f) | 0x80);
+                delta >>>= 7;
+            }
+            out.writeByte((int) delta);
+            lastTick = tick;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay", e);
+        }
+    }
+
+    private void writeFloat(float value) {
+        try {
+            out.writeFloat(value);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay", e);
+        }
+    }
+}
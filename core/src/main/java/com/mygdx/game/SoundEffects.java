@@ -0,0 +1,150 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Plays short sound effects with a voice limit per effect.
+ * When an effect already has its maximum number of voices, the oldest one is stopped to make
+ * room, and repeated plays of one effect within the same frame start only a single voice.
+ * Sound does not report when a voice ends, so each voice counts as active for the clip's length.
+ * Playing does not allocate.
+ */
+public class SoundEffects {
+    private final Array<Effect> effects = new Array<>();
+    private float time;
+    private int stolenVoices;
+    private int coalescedPlays;
+
+    /**
+     * Registers an effect. The sound stays owned by the caller.
+     * @param name Name to look the effect up by, usually its asset path.
+     * @param maxVoices Maximum number of voices of this effect that play at once.
+     * @param duration Length of the clip in seconds.
+     * @return Handle to pass to {@link #play(int)}.
+     */
+    public int add(String name, Sound sound, int maxVoices, float duration) {
+        effects.add(new Effect(name, sound, maxVoices, duration));
+        return effects.size - 1;
+    }
+
+    /**
+     * @return Handle of the effect registered under the given name.
+     */
+    public int find(String name) {
+        for (int i = 0; i < effects.size; i++) {
+            if (effects.get(i).name.equals(name)) return i;
+        }
+        throw new GdxRuntimeException("No sound effect named " + name);
+    }
+
+    /**
+     * Advances the clock by one frame, retiring voices that have finished. Call once per frame before any play.
+     */
+    public void update(float delta) {
+        time += delta;
+        for (int i = 0; i < effects.size; i++) {
+            Effect effect = effects.get(i);
+            effect.playedThisFrame = false;
+            while (effect.count > 0 && effect.ends[effect.head] <= time) effect.removeOldest();
+        }
+    }
+
+    /**
+     * Plays an effect at full volume.
+     */
+    public void play(int handle) {
+        play(handle, 1f);
+    }
+
+    /**
+     * Plays an effect, unless it was already played this frame. At the voice limit the oldest voice is stopped.
+     */
+    public void play(int handle, float volume) {
+        Effect effect = effects.get(handle);
+        if (effect.playedThisFrame) {
+            coalescedPlays++;
+            return;
+        }
+        effect.playedThisFrame = true;
+        if (effect.count == effect.ids.length) {
+            effect.sound.stop(effect.ids[effect.head]);
+            effect.removeOldest();
+            stolenVoices++;
+        }
+        long id = effect.sound.play(volume);
+        // Sound returns -1 when the platform has no voice left; nothing is playing then.
+        if (id == -1) return;
+        int slot = (effect.head + effect.count) % effect.ids.length;
+        effect.ids[slot] = id;
+        effect.ends[slot] = time + effect.duration;
+        effect.count++;
+    }
+
+    /**
+     * Stops every voice of every effect.
+     */
+    public void stopAll() {
+        for (int i = 0; i < effects.size; i++) {
+            Effect effect = effects.get(i);
+            effect.sound.stop();
+            effect.count = 0;
+        }
+    }
+
+    /**
+     * @return Voices of one effect that are currently playing.
+     */
+    public int getActiveVoices(int handle) {
+        return effects.get(handle).count;
+    }
+
+    /**
+     * @return Voices of all effects that are currently playing.
+     */
+    public int getActiveVoices() {
+        int voices = 0;
+        for (int i = 0; i < effects.size; i++) voices += effects.get(i).count;
+        return voices;
+    }
+
+    /**
+     * @return Voices stopped early to make room for a new one, since startup.
+     */
+    public int getStolenVoices() {
+        return stolenVoices;
+    }
+
+    /**
+     * @return Plays merged into a voice started earlier in the same frame, since startup.
+     */
+    public int getCoalescedPlays() {
+        return coalescedPlays;
+    }
+
+    /** Voices of one effect in a ring buffer, oldest first. */
+    private static final class Effect {
+        final String name;
+        final Sound sound;
+        final float duration;
+        final long[] ids;
+        final float[] ends;
+        int head;
+        int count;
+        boolean playedThisFrame;
+
+        Effect(String name, Sound sound, int maxVoices, float duration) {
+            this.name = name;
+            this.sound = sound;
+            this.duration = duration;
+            ids = new long[maxVoices];
+            ends = new float[maxVoices];
+        }
+
+        void removeOldest() {
+            head = (head + 1) % ids.length;
+            count--;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid broadphase keyed on world cells.
+ * Items are inserted with their bounds once per tick, and queries only return
+ * items whose cells overlap the query area, so narrowphase tests stay local.
+ * All storage is primitive arrays that grow on demand and are reused by clear().
+ */
+public class SpatialHash {
+    private final float cellSize;
+    private final float invCellSize;
+
+    private int[] buckets;
+    private int bucketMask;
+
+    private int[] entryItem;
+    private int[] entryNext;
+    private int entryCount;
+
+    private float[] itemX;
+    private float[] itemY;
+    private float[] itemW;
+    private float[] itemH;
+    private int[] itemStamp;
+    private int itemCapacity;
+    private int queryStamp;
+
+    /**
+     * Creates a spatial hash.
+     * @param cellSize World size of one grid cell; about the size of the largest item works best.
+     * @param bucketCount Number of hash buckets, rounded up to a power of two.
+     */
+    public SpatialHash(float cellSize, int bucketCount) {
+        this.cellSize = cellSize;
+        this.invCellSize = 1f / cellSize;
+        buckets = new int[MathUtils.nextPowerOfTwo(Math.max(bucketCount, 16))];
+        bucketMask = buckets.length - 1;
+        Arrays.fill(buckets, -1);
+        entryItem = new int[64];
+        entryNext = new int[64];
+        ensureItemCapacity(16);
+    }
+
+    /**
+     * Removes every item while keeping the allocated storage for the next tick.
+     */
+    public void clear() {
+        Arrays.fill(buckets, -1);
+        entryCount = 0;
+    }
+
+    /**
+     * Inserts an item into every cell its bounds touch.
+     * @param item Caller-defined index of the item, must be non-negative.
+     */
+    public void insert(int item, float x, float y, float width, float height) {
+        ensureItemCapacity(item + 1);
+        itemX[item] = x;
+        itemY[item] = y;
+        itemW[item] = width;
+        itemH[item] = height;
+
+        int minX = cell(x), maxX = cell(x + width);
+        int minY = cell(y), maxY = cell(y + height);
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                if (entryCount == entryItem.length) growEntries();
+                int bucket = hash(cx, cy);
+                entryItem[entryCount] = item;
+                entryNext[entryCount] = buckets[bucket];
+                buckets[bucket] = entryCount++;
+            }
+        }
+    }
+
+    /**
+     * Collects every item whose bounds overlap the given area. Each item is reported once.
+     * @param results Cleared and filled with the matching item indices.
+     */
+    public void query(float x, float y, float width, float height, IntArray results) {
+        results.clear();
+        if (++queryStamp == 0) {
+            Arrays.fill(itemStamp, 0);
+            queryStamp = 1;
+        }
+
+        int minX = cell(x), maxX = cell(x + width);
+        int minY = cell(y), maxY = cell(y + height);
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int e = buckets[hash(cx, cy)]; e != -1; e = entryNext[e]) {
+                    int item = entryItem[e];
+                    if (itemStamp[item] == queryStamp) continue;
+                    itemStamp[item] = queryStamp;
+                    if (itemX[item] < x + width && itemX[item] + itemW[item] > x
+                            && itemY[item] < y + height && itemY[item] + itemH[item] > y) {
+                        results.add(item);
+                    }
+                }
+            }
+        }
+    }
+
+    private int cell(float coordinate) {
+        return MathUtils.floor(coordinate * invCellSize);
+    }
+
+    private int hash(int cx, int cy) {
+        return (cx * 73856093 ^ cy * 19349663) & bucketMask;
+    }
+
+    private void growEntries() {
+        int size = entryItem.length * 2;
+        entryItem = Arrays.copyOf(entryItem, size);
+        entryNext = Arrays.copyOf(entryNext, size);
+    }
+
+    private void ensureItemCapacity(int capacity) {
+        if (capacity <= itemCapacity) return;
+        int size = Math.max(capacity, itemCapacity * 2);
+        itemX = itemX == null ? new float[size] : Arrays.copyOf(itemX, size);
+        itemY = itemY == null ? new float[size] : Arrays.copyOf(itemY, size);
+        itemW = itemW == null ? new float[size] : Arrays.copyOf(itemW, size);
+        itemH = itemH == null ? new float[size] : Arrays.copyOf(itemH, size);
+        itemStamp = itemStamp == null ? new int[size] : Arrays.copyOf(itemStamp, size);
+        itemCapacity = size;
+    }
+
+    /**
+     * @return World size of one grid cell.
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+}
@@ -1,49 +1,79 @@
 package com.mygdx.game;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Rectangle;
-
 /**
- * The Star class represents a projectile fired by the player.
- * It moves in the direction of the target position and is used to hit enemies.
+ * Stars are projectiles fired by the player.
+ * They move in the direction of the target position, are used to hit enemies and stop at walls.
+ * Star state lives in an {@link EntityStore}; this class holds the launch and movement logic.
  */
-public class Star {
-    public Vector2 position;
-    public Vector2 velocity;
+public final class Star {
     public static final float SPEED = 400f;
-    private final Texture texture;
+
+    private Star() {}
+
     /**
-     * Constructs a Star object and calculates its velocity toward a target.
-     * @param startPos The starting position (usually player's position).
-     * @param targetPos The target position (usually where mouse was clicked).
-     * @param texture The texture used to render the star.
+     * Launches a star and calculates its velocity toward a target.
+     * @param stars Store the star is added to.
+     * @param startX The starting x position (usually player's center).
+     * @param startY The starting y position (usually player's center).
+     * @param targetX The target x position (usually where mouse was clicked).
+     * @param targetY The target y position (usually where mouse was clicked).
+     * @param width Scaled star width.
+     * @param height Scaled star height.
+     * @return Handle of the new star.
      */
-    public Star(Vector2 startPos, Vector2 targetPos, Texture texture) {
-        this.texture = texture;
-        this.position = new Vector2(startPos);
-        this.velocity = new Vector2(targetPos).sub(startPos).nor().scl(SPEED);
+    public static int spawn(EntityStore stars, float startX, float startY, float targetX, float targetY,
+                            float width, float height) {
+        int handle = stars.add(startX, startY, width, height);
+        int index = stars.indexOf(handle);
+        float dx = targetX - startX;
+        float dy = targetY - startY;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length > 0) {
+            stars.vx[index] = dx / length * SPEED;
+            stars.vy[index] = dy / length * SPEED;
+        }
+        return handle;
     }
+
     /**
-     * Updates the star's position based on its velocity.
+     * Updates every star's position based on its velocity and removes stars that hit a wall.
+     * @param walls Solid tiles; the world border counts as solid too.
      * @param delta Time since last frame (used for smooth movement).
+     * @param hits Scratch flags with room for every star.
      */
-    public void update(float delta) {
-        position.mulAdd(velocity, delta);
+    public static void update(EntityStore stars, CollisionGrid walls, float delta, boolean[] hits) {
+        move(stars, walls, delta, hits, 0, stars.size);
+        removeHits(stars, hits);
     }
+
     /**
-     * Returns the bounding rectangle used for collision detection.
-     * @return Rectangle representing the star's hitbox.
+     * Moves the stars in a range of dense indices and flags those that hit a wall instead of moving.
+     * The path of each star's center is raycast through the grid, so fast stars cannot skip thin walls.
+     * Only entries of the range are written, so disjoint ranges can run on different threads.
+     * @param hits Set to whether each star hit a wall; needs room for every star.
+     * @param from First index, inclusive.
+     * @param to Last index, exclusive.
      */
-    public Rectangle getBounds() {
-        return new Rectangle(position.x, position.y,
-                texture.getWidth() * 0.1f, texture.getHeight() * 0.1f);
+    public static void move(EntityStore stars, CollisionGrid walls, float delta, boolean[] hits, int from, int to) {
+        float[] x = stars.x, y = stars.y, vx = stars.vx, vy = stars.vy;
+        float[] width = stars.width, height = stars.height;
+        for (int i = from; i < to; i++) {
+            float centerX = x[i] + width[i] / 2f, centerY = y[i] + height[i] / 2f;
+            float dx = vx[i] * delta, dy = vy[i] * delta;
+            hits[i] = walls.raycast(centerX, centerY, centerX + dx, centerY + dy) >= 0;
+            if (hits[i]) continue;
+            x[i] += dx;
+            y[i] += dy;
+        }
     }
+
     /**
-     * Returns the texture used to render the star.
-     * @return Texture of the star.
+     * Removes the stars flagged by {@link #move}.
      */
-    public Texture getTexture() {
-        return texture;
+    public static void removeHits(EntityStore stars, boolean[] hits) {
+        // Visited from the back so swap-removal only moves already-visited stars.
+        for (int i = stars.size - 1; i >= 0; i--) {
+            if (hits[i]) stars.remove(i);
+        }
     }
 }
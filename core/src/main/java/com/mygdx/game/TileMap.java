@@ -0,0 +1,280 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.XmlReader;
+
+import java.util.Arrays;
+
+/**
+ * Tile layers, tilesets and tile animations of an orthogonal Tiled (.tmx) map.
+ * Infinite maps are stored as chunks in the file; they are flattened here into one dense grid
+ * trimmed to the tiles actually used. Rows run bottom-up, matching world coordinates.
+ * Only plain data lives here, so the simulation can read the map without a GL context.
+ */
+public class TileMap {
+    /** Tiled stores flip flags in the top bits of every global tile id. */
+    public static final int FLIP_HORIZONTAL = 0x80000000;
+    public static final int FLIP_VERTICAL = 0x40000000;
+    public static final int FLIP_DIAGONAL = 0x20000000;
+    private static final int GID_MASK = 0x1fffffff;
+
+    /** One layer of tiles. */
+    public static class Layer {
+        public final String name;
+        public final float opacity;
+        public final boolean visible;
+        /** Global tile ids including flip flags, row-major from the bottom row; 0 means empty. */
+        public final int[] gids;
+
+        Layer(String name, float opacity, boolean visible, int[] gids) {
+            this.name = name;
+            this.opacity = opacity;
+            this.visible = visible;
+            this.gids = gids;
+        }
+    }
+
+    /** One tileset image cut into equally sized tiles. */
+    public static class Tileset {
+        public final int firstGid;
+        public final int tileCount;
+        public final int columns;
+        public final int margin;
+        public final int spacing;
+        /** Internal path of the tileset image. */
+        public final String imagePath;
+
+        Tileset(int firstGid, int tileCount, int columns, int margin, int spacing, String imagePath) {
+            this.firstGid = firstGid;
+            this.tileCount = tileCount;
+            this.columns = columns;
+            this.margin = margin;
+            this.spacing = spacing;
+            this.imagePath = imagePath;
+        }
+    }
+
+    /** Frame sequence of an animated tile. */
+    public static class Animation {
+        /** Global tile ids of the frames, without flip flags. */
+        public final int[] frames;
+        /** Time at which each frame ends, in milliseconds from the start of the loop. */
+        public final int[] frameEnds;
+
+        Animation(int[] frames, int[] frameEnds) {
+            this.frames = frames;
+            this.frameEnds = frameEnds;
+        }
+
+        /**
+         * @param timeMillis Time since the animation started.
+         * @return Global tile id shown at that time.
+         */
+        public int frameAt(long timeMillis) {
+            int time = (int) (timeMillis % frameEnds[frameEnds.length - 1]);
+            int i = 0;
+            while (frameEnds[i] <= time) i++;
+            return frames[i];
+        }
+    }
+
+    public final int tileWidth;
+    public final int tileHeight;
+    /** Size of the map in tiles. */
+    public final int width;
+    public final int height;
+    public final Array<Layer> layers;
+    public final Array<Tileset> tilesets;
+
+    /** Animation index for every global tile id, or -1; indexed without flip flags. */
+    private final int[] animationIndex;
+    private final Array<Animation> animations;
+
+    private TileMap(int tileWidth, int tileHeight, int width, int height, Array<Layer> layers,
+                    Array<Tileset> tilesets, int[] animationIndex, Array<Animation> animations) {
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.width = width;
+        this.height = height;
+        this.layers = layers;
+        this.tilesets = tilesets;
+        this.animationIndex = animationIndex;
+        this.animations = animations;
+    }
+
+    /**
+     * @return Global tile id without flip flags.
+     */
+    public static int tileId(int gid) {
+        return gid & GID_MASK;
+    }
+
+    /**
+     * @return Largest global tile id any tileset defines.
+     */
+    public int getMaxGid() {
+        return animationIndex.length - 1;
+    }
+
+    /**
+     * @return The animation played by a tile, or null if the tile is static.
+     */
+    public Animation getAnimation(int gid) {
+        int id = tileId(gid);
+        if (id >= animationIndex.length || animationIndex[id] < 0) return null;
+        return animations.get(animationIndex[id]);
+    }
+
+    /**
+     * @return The tileset a global tile id belongs to.
+     */
+    public Tileset getTileset(int gid) {
+        int id = tileId(gid);
+        for (int i = tilesets.size - 1; i >= 0; i--) {
+            if (tilesets.get(i).firstGid <= id) return tilesets.get(i);
+        }
+        throw new GdxRuntimeException("No tileset for tile id " + id);
+    }
+
+    /**
+     * @return The layer with the given name, or null.
+     */
+    public Layer getLayer(String name) {
+        for (Layer layer : layers) {
+            if (layer.name.equals(name)) return layer;
+        }
+        return null;
+    }
+
+    /**
+     * Reads a map with embedded tilesets and CSV-encoded layer data, finite or infinite.
+     * @param file The .tmx file; tileset images are resolved relative to it.
+     */
+    public static TileMap load(FileHandle file) {
+        XmlReader.Element root = new XmlReader().parse(file);
+        if (!"orthogonal".equals(root.getAttribute("orientation", "orthogonal"))) {
+            throw new GdxRuntimeException("Only orthogonal maps are supported: " + file);
+        }
+        int tileWidth = root.getIntAttribute("tilewidth");
+        int tileHeight = root.getIntAttribute("tileheight");
+
+        Array<Tileset> tilesets = new Array<>();
+        Array<Animation> animations = new Array<>();
+        IntArray animatedIds = new IntArray();
+        int maxGid = 0;
+        for (XmlReader.Element element : root.getChildrenByName("tileset")) {
+            if (element.hasAttribute("source")) {
+                throw new GdxRuntimeException("External tilesets are not supported: " + file);
+            }
+            int firstGid = element.getIntAttribute("firstgid");
+            XmlReader.Element image = element.getChildByName("image");
+            Tileset tileset = new Tileset(firstGid, element.getIntAttribute("tilecount"),
+                    element.getIntAttribute("columns"), element.getIntAttribute("margin", 0),
+                    element.getIntAttribute("spacing", 0), file.parent().child(image.getAttribute("source")).path());
+            tilesets.add(tileset);
+            maxGid = Math.max(maxGid, firstGid + tileset.tileCount - 1);
+
+            for (XmlReader.Element tile : element.getChildrenByName("tile")) {
+                XmlReader.Element animation = tile.getChildByName("animation");
+                if (animation == null) continue;
+                Array<XmlReader.Element> frameElements = animation.getChildrenByName("frame");
+                int[] frames = new int[frameElements.size];
+                int[] frameEnds = new int[frameElements.size];
+                int time = 0;
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = firstGid + frameElements.get(i).getIntAttribute("tileid");
+                    time += Math.max(1, frameElements.get(i).getIntAttribute("duration"));
+                    frameEnds[i] = time;
+                }
+                animatedIds.add(firstGid + tile.getIntAttribute("id"));
+                animations.add(new Animation(frames, frameEnds));
+            }
+        }
+
+        int[] animationIndex = new int[maxGid + 1];
+        Arrays.fill(animationIndex, -1);
+        for (int i = 0; i < animatedIds.size; i++) {
+            animationIndex[animatedIds.get(i)] = i;
+        }
+
+        // Tile coordinates in the file run top-down and may be negative on infinite maps,
+        // so every layer is read first and the used area is measured before flattening.
+        Array<XmlReader.Element> layerElements = root.getChildrenByName("layer");
+        Array<Chunk[]> layerChunks = new Array<>();
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (XmlReader.Element element : layerElements) {
+            XmlReader.Element data = element.getChildByName("data");
+            if (!"csv".equals(data.getAttribute("encoding", null))) {
+                throw new GdxRuntimeException("Only CSV layer data is supported: " + file);
+            }
+            Array<XmlReader.Element> chunkElements = data.getChildrenByName("chunk");
+            Chunk[] chunks;
+            if (chunkElements.size == 0) {
+                chunks = new Chunk[] {new Chunk(0, 0, element.getIntAttribute("width"), data.getText())};
+            } else {
+                chunks = new Chunk[chunkElements.size];
+                for (int i = 0; i < chunks.length; i++) {
+                    XmlReader.Element chunk = chunkElements.get(i);
+                    chunks[i] = new Chunk(chunk.getIntAttribute("x"), chunk.getIntAttribute("y"),
+                            chunk.getIntAttribute("width"), chunk.getText());
+                }
+            }
+            for (Chunk chunk : chunks) {
+                for (int i = 0; i < chunk.gids.length; i++) {
+                    if (chunk.gids[i] == 0) continue;
+                    int x = chunk.x + i % chunk.width, y = chunk.y + i / chunk.width;
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+            layerChunks.add(chunks);
+        }
+        if (minX > maxX) throw new GdxRuntimeException("Map has no tiles: " + file);
+
+        int width = maxX - minX + 1;
+        int height = maxY - minY + 1;
+        Array<Layer> layers = new Array<>();
+        for (int l = 0; l < layerElements.size; l++) {
+            XmlReader.Element element = layerElements.get(l);
+            int[] gids = new int[width * height];
+            for (Chunk chunk : layerChunks.get(l)) {
+                for (int i = 0; i < chunk.gids.length; i++) {
+                    if (chunk.gids[i] == 0) continue;
+                    int column = chunk.x + i % chunk.width - minX;
+                    int row = maxY - (chunk.y + i / chunk.width);
+                    gids[row * width + column] = chunk.gids[i];
+                }
+            }
+            layers.add(new Layer(element.getAttribute("name", ""), element.getFloatAttribute("opacity", 1f),
+                    element.getIntAttribute("visible", 1) != 0, gids));
+        }
+
+        return new TileMap(tileWidth, tileHeight, width, height, layers, tilesets, animationIndex, animations);
+    }
+
+    /** CSV tile data of one chunk, or of a whole finite layer. */
+    private static class Chunk {
+        final int x;
+        final int y;
+        final int width;
+        final int[] gids;
+
+        Chunk(int x, int y, int width, String csv) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            String[] values = csv.trim().split("\\s*,\\s*");
+            gids = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                // Ids with flip flags exceed Integer.MAX_VALUE, so they are parsed as longs.
+                gids[i] = (int) Long.parseLong(values[i]);
+            }
+        }
+    }
+}
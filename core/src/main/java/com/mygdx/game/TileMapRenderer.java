@@ -0,0 +1,406 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Draws a {@link TileMap} with a few draw calls per frame.
+ * <p>
+ * Every tile the map uses is copied from its tileset into one texture, so each batch of tiles
+ * needs a single texture bind. Static tiles are baked once into {@link SpriteCache} caches, one
+ * per square chunk of the map, and only chunks overlapping the camera are drawn. Animated tiles
+ * are kept in a separate list per chunk and drawn through the shared batch; their current frame
+ * is only looked up while their chunk is visible.
+ * <p>
+ * To keep layer order, layers are grouped into bands: a new band starts whenever a static tile
+ * would cover an animated tile of an earlier layer in the same band. Each band draws its static
+ * caches, then its animated tiles. Diagonal tile flips are not supported.
+ */
+public class TileMapRenderer implements Disposable {
+    /** Width and height of one cached chunk in tiles. */
+    public static final int CHUNK_TILES = 16;
+    /** Largest texture the packed tiles may need. */
+    private static final int MAX_TEXTURE_SIZE = 2048;
+    private static final int FLIP_FLAGS = TileMap.FLIP_HORIZONTAL | TileMap.FLIP_VERTICAL | TileMap.FLIP_DIAGONAL;
+
+    private final TileMap map;
+    private final float tileWorldWidth;
+    private final float tileWorldHeight;
+    private final int chunkColumns;
+    private final int chunkRows;
+    private final int bandCount;
+
+    private final Pixmap tilePixmap;
+    private final Texture tileTexture;
+    /** Packed tile index for every global tile id, or -1 when the map never shows that tile. */
+    private final int[] packedIndex;
+    /** Texture coordinates per packed tile: u, bottom v, u2, top v. */
+    private final float[] packedUV;
+
+    private final SpriteCache cache;
+    /** Cache id per band and chunk, or -1 when the band has no static tiles there. */
+    private final int[] cacheIds;
+    /** Range of animated tiles per band and chunk: animatedStart[i] to animatedStart[i + 1]. */
+    private final int[] animatedStart;
+    private final float[] animatedX;
+    private final float[] animatedY;
+    private final float[] animatedAlpha;
+    private final int[] animatedGid;
+    private final float[] vertices = new float[20];
+
+    private float stateTime;
+    private int visibleChunks;
+    private int animatedTilesDrawn;
+
+    /**
+     * Packs the tiles, bakes the static layers and indexes the animated tiles.
+     * Must be called on the GL thread. Invisible layers are skipped.
+     * @param game Used to load the tileset images; they are released again once packed.
+     * @param map Map to draw.
+     * @param scale World units per tileset pixel.
+     */
+    public TileMapRenderer(MyGdxGame game, TileMap map, float scale) {
+        this.map = map;
+        tileWorldWidth = map.tileWidth * scale;
+        tileWorldHeight = map.tileHeight * scale;
+        chunkColumns = (map.width + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunkRows = (map.height + CHUNK_TILES - 1) / CHUNK_TILES;
+
+        packedIndex = new int[map.getMaxGid() + 1];
+        Arrays.fill(packedIndex, -1);
+        IntArray used = collectUsedTiles();
+        packedUV = new float[used.size * 4];
+        tilePixmap = packTiles(game, used);
+        // The pixmap is kept so the texture can be restored after a lost GL context.
+        tileTexture = new Texture(new PixmapTextureData(tilePixmap, null, false, false, true));
+        tileTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+
+        int[] layerBand = assignBands();
+        int highestBand = -1;
+        for (int band : layerBand) highestBand = Math.max(highestBand, band);
+        bandCount = highestBand + 1;
+        int chunkCount = chunkColumns * chunkRows;
+
+        int staticTiles = 0;
+        for (int l = 0; l < map.layers.size; l++) {
+            if (layerBand[l] < 0) continue;
+            for (int gid : map.layers.get(l).gids) {
+                if (gid != 0 && map.getAnimation(gid) == null) staticTiles++;
+            }
+        }
+        cache = new SpriteCache(Math.max(1, staticTiles), true);
+        cacheIds = new int[bandCount * chunkCount];
+        animatedStart = new int[bandCount * chunkCount + 1];
+        FloatArray animX = new FloatArray(), animY = new FloatArray(), animAlpha = new FloatArray();
+        IntArray animGid = new IntArray();
+
+        for (int band = 0; band < bandCount; band++) {
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                int slot = band * chunkCount + chunk;
+                animatedStart[slot] = animGid.size;
+                int firstColumn = chunk % chunkColumns * CHUNK_TILES;
+                int firstRow = chunk / chunkColumns * CHUNK_TILES;
+                int lastColumn = Math.min(firstColumn + CHUNK_TILES, map.width);
+                int lastRow = Math.min(firstRow + CHUNK_TILES, map.height);
+
+                boolean cacheOpen = false;
+                for (int l = 0; l < map.layers.size; l++) {
+                    if (layerBand[l] != band) continue;
+                    TileMap.Layer layer = map.layers.get(l);
+                    float color = Color.toFloatBits(1f, 1f, 1f, layer.opacity);
+                    for (int row = firstRow; row < lastRow; row++) {
+                        for (int column = firstColumn; column < lastColumn; column++) {
+                            int gid = layer.gids[row * map.width + column];
+                            if (gid == 0) continue;
+                            float x = column * tileWorldWidth, y = row * tileWorldHeight;
+                            if (map.getAnimation(gid) != null) {
+                                animX.add(x);
+                                animY.add(y);
+                                animAlpha.add(layer.opacity);
+                                animGid.add(gid);
+                                continue;
+                            }
+                            if (!cacheOpen) {
+                                cache.beginCache();
+                                cacheOpen = true;
+                            }
+                            setVertices(x, y, gid, color);
+                            cache.add(tileTexture, vertices, 0, vertices.length);
+                        }
+                    }
+                }
+                cacheIds[slot] = cacheOpen ? cache.endCache() : -1;
+            }
+        }
+        animatedStart[bandCount * chunkCount] = animGid.size;
+        animatedX = animX.toArray();
+        animatedY = animY.toArray();
+        animatedAlpha = animAlpha.toArray();
+        animatedGid = animGid.toArray();
+    }
+
+    /**
+     * Advances the clock of the tile animations.
+     */
+    public void update(float delta) {
+        stateTime += delta;
+    }
+
+    /**
+     * Draws the chunks the camera can see. Must be called outside of batch.begin()/end().
+     * Leaves the batch projection set to the camera and its color reset to white.
+     */
+    public void render(OrthographicCamera camera, SpriteBatch batch) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+        float left = camera.position.x - halfWidth, right = camera.position.x + halfWidth;
+        float bottom = camera.position.y - halfHeight, top = camera.position.y + halfHeight;
+        float chunkWidth = CHUNK_TILES * tileWorldWidth, chunkHeight = CHUNK_TILES * tileWorldHeight;
+        int firstColumn = Math.max(0, MathUtils.floor(left / chunkWidth));
+        int lastColumn = Math.min(chunkColumns - 1, MathUtils.floor(right / chunkWidth));
+        int firstRow = Math.max(0, MathUtils.floor(bottom / chunkHeight));
+        int lastRow = Math.min(chunkRows - 1, MathUtils.floor(top / chunkHeight));
+
+        visibleChunks = Math.max(0, lastColumn - firstColumn + 1) * Math.max(0, lastRow - firstRow + 1);
+        animatedTilesDrawn = 0;
+        if (visibleChunks == 0) return;
+
+        cache.setProjectionMatrix(camera.combined);
+        batch.setProjectionMatrix(camera.combined);
+        long timeMillis = (long) (stateTime * 1000);
+        int chunkCount = chunkColumns * chunkRows;
+        for (int band = 0; band < bandCount; band++) {
+            boolean cacheStarted = false;
+            boolean hasAnimated = false;
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int slot = band * chunkCount + row * chunkColumns + column;
+                    if (animatedStart[slot + 1] > animatedStart[slot]) hasAnimated = true;
+                    if (cacheIds[slot] < 0) continue;
+                    if (!cacheStarted) {
+                        cache.begin();
+                        cacheStarted = true;
+                    }
+                    cache.draw(cacheIds[slot]);
+                }
+            }
+            if (cacheStarted) cache.end();
+            if (!hasAnimated) continue;
+
+            batch.begin();
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int slot = band * chunkCount + row * chunkColumns + column;
+                    for (int i = animatedStart[slot], n = animatedStart[slot + 1]; i < n; i++) {
+                        float x = animatedX[i], y = animatedY[i];
+                        if (x > right || x + tileWorldWidth < left || y > top || y + tileWorldHeight < bottom) continue;
+                        int gid = animatedGid[i];
+                        int frame = map.getAnimation(gid).frameAt(timeMillis) | (gid & FLIP_FLAGS);
+                        setVertices(x, y, frame, 0);
+                        batch.setColor(1f, 1f, 1f, animatedAlpha[i]);
+                        batch.draw(tileTexture, x, y, tileWorldWidth, tileWorldHeight,
+                                vertices[3], vertices[4], vertices[13], vertices[14]);
+                        animatedTilesDrawn++;
+                    }
+                }
+            }
+            batch.end();
+            batch.setColor(Color.WHITE);
+        }
+    }
+
+    /**
+     * @return World width of the whole map.
+     */
+    public float getWorldWidth() {
+        return map.width * tileWorldWidth;
+    }
+
+    /**
+     * @return World height of the whole map.
+     */
+    public float getWorldHeight() {
+        return map.height * tileWorldHeight;
+    }
+
+    /**
+     * @return Number of chunks the last render() drew.
+     */
+    public int getVisibleChunks() {
+        return visibleChunks;
+    }
+
+    /**
+     * @return Number of animated tiles the last render() drew.
+     */
+    public int getAnimatedTilesDrawn() {
+        return animatedTilesDrawn;
+    }
+
+    /**
+     * Fills the vertex buffer with one tile quad in SpriteCache layout: x, y, color, u, v per corner,
+     * starting bottom-left and going clockwise.
+     */
+    private void setVertices(float x, float y, int gid, float color) {
+        int packed = packedIndex[TileMap.tileId(gid)] * 4;
+        float u = packedUV[packed], v = packedUV[packed + 1];
+        float u2 = packedUV[packed + 2], v2 = packedUV[packed + 3];
+        if ((gid & TileMap.FLIP_HORIZONTAL) != 0) {
+            float swap = u;
+            u = u2;
+            u2 = swap;
+        }
+        if ((gid & TileMap.FLIP_VERTICAL) != 0) {
+            float swap = v;
+            v = v2;
+            v2 = swap;
+        }
+        float x2 = x + tileWorldWidth, y2 = y + tileWorldHeight;
+        float[] vertices = this.vertices;
+        vertices[0] = x;
+        vertices[1] = y;
+        vertices[2] = color;
+        vertices[3] = u;
+        vertices[4] = v;
+        vertices[5] = x;
+        vertices[6] = y2;
+        vertices[7] = color;
+        vertices[8] = u;
+        vertices[9] = v2;
+        vertices[10] = x2;
+        vertices[11] = y2;
+        vertices[12] = color;
+        vertices[13] = u2;
+        vertices[14] = v2;
+        vertices[15] = x2;
+        vertices[16] = y;
+        vertices[17] = color;
+        vertices[18] = u2;
+        vertices[19] = v;
+    }
+
+    /**
+     * @return Every tile id shown by a visible layer, including all frames of animated tiles.
+     */
+    private IntArray collectUsedTiles() {
+        IntArray used = new IntArray();
+        for (TileMap.Layer layer : map.layers) {
+            if (!layer.visible) continue;
+            for (int gid : layer.gids) {
+                if (gid == 0) continue;
+                TileMap.Animation animation = map.getAnimation(gid);
+                if (animation == null) {
+                    markUsed(TileMap.tileId(gid), used);
+                } else {
+                    for (int frame : animation.frames) markUsed(frame, used);
+                }
+            }
+        }
+        return used;
+    }
+
+    private void markUsed(int id, IntArray used) {
+        if (packedIndex[id] >= 0) return;
+        packedIndex[id] = used.size;
+        used.add(id);
+    }
+
+    /**
+     * Copies the used tiles into one pixmap. Every tile gets a one pixel border repeating its edge,
+     * so sampling at fractional camera positions never picks up a neighbouring tile.
+     */
+    private Pixmap packTiles(MyGdxGame game, IntArray used) {
+        int cellWidth = map.tileWidth + 2, cellHeight = map.tileHeight + 2;
+        int width = 64, height = 64;
+        while ((width / cellWidth) * (height / cellHeight) < used.size) {
+            if (width <= height) width *= 2;
+            else height *= 2;
+            if (width > MAX_TEXTURE_SIZE || height > MAX_TEXTURE_SIZE) {
+                throw new GdxRuntimeException("Map uses too many tiles for one texture: " + used.size);
+            }
+        }
+        Pixmap packed = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        packed.setBlending(Pixmap.Blending.None);
+        int columns = width / cellWidth;
+
+        for (TileMap.Tileset tileset : map.tilesets) {
+            Pixmap source = null;
+            for (int i = 0; i < used.size; i++) {
+                int id = used.get(i);
+                if (id < tileset.firstGid || id >= tileset.firstGid + tileset.tileCount) continue;
+                if (source == null) source = game.acquire(tileset.imagePath, Pixmap.class);
+
+                int local = id - tileset.firstGid;
+                int sx = tileset.margin + local % tileset.columns * (map.tileWidth + tileset.spacing);
+                int sy = tileset.margin + local / tileset.columns * (map.tileHeight + tileset.spacing);
+                int dx = i % columns * cellWidth + 1, dy = i / columns * cellHeight + 1;
+                int tw = map.tileWidth, th = map.tileHeight;
+                packed.drawPixmap(source, dx, dy, sx, sy, tw, th);
+                packed.drawPixmap(source, dx - 1, dy, sx, sy, 1, th);
+                packed.drawPixmap(source, dx + tw, dy, sx + tw - 1, sy, 1, th);
+                packed.drawPixmap(source, dx, dy - 1, sx, sy, tw, 1);
+                packed.drawPixmap(source, dx, dy + th, sx, sy + th - 1, tw, 1);
+                packed.drawPixmap(source, dx - 1, dy - 1, sx, sy, 1, 1);
+                packed.drawPixmap(source, dx + tw, dy - 1, sx + tw - 1, sy, 1, 1);
+                packed.drawPixmap(source, dx - 1, dy + th, sx, sy + th - 1, 1, 1);
+                packed.drawPixmap(source, dx + tw, dy + th, sx + tw - 1, sy + th - 1, 1, 1);
+
+                int uv = i * 4;
+                packedUV[uv] = (float) dx / width;
+                packedUV[uv + 1] = (float) (dy + th) / height;
+                packedUV[uv + 2] = (float) (dx + tw) / width;
+                packedUV[uv + 3] = (float) dy / height;
+            }
+            if (source != null) game.release(tileset.imagePath);
+        }
+        return packed;
+    }
+
+    /**
+     * @return Band of every layer, or -1 for invisible layers. Bands never decrease with the layer index.
+     */
+    private int[] assignBands() {
+        int[] layerBand = new int[map.layers.size];
+        boolean[] animatedBelow = new boolean[map.width * map.height];
+        int band = 0;
+        for (int l = 0; l < map.layers.size; l++) {
+            TileMap.Layer layer = map.layers.get(l);
+            if (!layer.visible) {
+                layerBand[l] = -1;
+                continue;
+            }
+            int[] gids = layer.gids;
+            for (int i = 0; i < gids.length; i++) {
+                if (gids[i] != 0 && animatedBelow[i] && map.getAnimation(gids[i]) == null) {
+                    band++;
+                    Arrays.fill(animatedBelow, false);
+                    break;
+                }
+            }
+            for (int i = 0; i < gids.length; i++) {
+                if (gids[i] != 0 && map.getAnimation(gids[i]) != null) animatedBelow[i] = true;
+            }
+            layerBand[l] = band;
+        }
+        return layerBand;
+    }
+
+    @Override
+    public void dispose() {
+        cache.dispose();
+        tileTexture.dispose();
+        tilePixmap.dispose();
+    }
+}
@@ -0,0 +1,328 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Gameplay simulation: player movement, enemy spawning and steering, stars, collisions and goal detection.
+ * Movement is resolved against a {@link CollisionGrid} of walls.
+ * It does not touch Gdx globals, so it runs the same with or without a GL context;
+ * GameScreen feeds it input and draws its state.
+ */
+public class World {
+    /** Result of the run so far. */
+    public enum Status { PLAYING, LOST, REACHED_GOAL }
+
+    /** Tile size of the grid used when a world has no walls. */
+    private static final float OPEN_TILE_SIZE = 64f;
+    /** Tick length calibration steps enemies by; the cost of a step does not depend on it. */
+    private static final float CALIBRATION_TICK = 1f / 60;
+
+    public final WorldConfig config;
+    /** Solid tiles that block the player, enemies and stars. */
+    public final CollisionGrid walls;
+    /** Shared path toward the player that every enemy follows. */
+    public final FlowField flowField;
+    public final EntityStore enemies;
+    public final EntityStore stars;
+    public final Rectangle goalBounds;
+
+    public float playerX;
+    public float playerY;
+    public float prevPlayerX;
+    public float prevPlayerY;
+
+    /** All randomness of the simulation, seeded from the config on every reset. */
+    final RandomXS128 random = new RandomXS128();
+    private final SpatialHash enemyHash;
+    private final IntArray candidates = new IntArray();
+    private final IntArray hitEnemies = new IntArray();
+    private final Rectangle playerRect = new Rectangle();
+    private final EnemyJob enemyJob = new EnemyJob();
+    private final StarJob starJob = new StarJob();
+    private boolean[] starHits = new boolean[256];
+    /** Per dense enemy index, whether a star has hit it this tick; all false between ticks. */
+    private boolean[] enemyHits = new boolean[256];
+    private int hashedEnemies;
+    private ParallelUpdater parallelUpdater;
+
+    // Package-private so WorldSnapshot can save and restore them.
+    float enemySpawnTimer;
+    long tick;
+    Status status = Status.PLAYING;
+
+    /**
+     * Creates a world without walls inside its borders.
+     * @param config Sizes and tuning values; read on every tick.
+     */
+    public World(WorldConfig config) {
+        this(config, CollisionGrid.open(config.worldWidth, config.worldHeight, OPEN_TILE_SIZE));
+    }
+
+    /**
+     * Creates a world with the player at its start position and no enemies.
+     * @param config Sizes and tuning values; read on every tick.
+     * @param walls Solid tiles of the maze, usually built from the map's wall layer.
+     */
+    public World(WorldConfig config, CollisionGrid walls) {
+        this.config = config;
+        this.walls = walls;
+        enemies = new EntityStore(256);
+        stars = new EntityStore(256);
+        enemyHash = new SpatialHash(Math.max(config.enemyWidth, config.enemyHeight), 1024);
+        goalBounds = new Rectangle();
+        flowField = new FlowField(walls, config.enemyWidth, config.enemyHeight);
+        reset();
+    }
+
+    /**
+     * Starts a new run in place: the player returns to the start, every enemy and star is removed,
+     * the random numbers restart from {@link WorldConfig#seed} and the status is PLAYING again.
+     * Entity storage keeps its capacity, so a restart does not allocate.
+     */
+    public void reset() {
+        random.setSeed(config.seed);
+        enemies.clear();
+        stars.clear();
+        enemyHash.clear();
+        hashedEnemies = 0;
+        goalBounds.set(config.goalX, config.goalY, config.goalWidth, config.goalHeight);
+        playerX = prevPlayerX = config.playerStartX;
+        playerY = prevPlayerY = config.playerStartY;
+        flowField.setTarget(flowField.tileOf(playerX, playerY, config.playerWidth));
+        flowField.finish();
+        enemySpawnTimer = 0;
+        tick = 0;
+        status = Status.PLAYING;
+    }
+
+    /**
+     * Launches a star from the player's center toward a world position.
+     */
+    public void fire(float targetX, float targetY) {
+        Star.spawn(stars, playerX + config.playerWidth / 2f, playerY + config.playerHeight / 2f,
+                targetX, targetY, config.starWidth, config.starHeight);
+    }
+
+    /**
+     * Advances the simulation by one tick. Does nothing once the run has ended.
+     * @param delta Duration of the tick.
+     * @param moveX Horizontal input direction, -1 to 1.
+     * @param moveY Vertical input direction, -1 to 1.
+     */
+    public void update(float delta, float moveX, float moveY) {
+        if (status != Status.PLAYING) return;
+        tick++;
+
+        prevPlayerX = playerX;
+        prevPlayerY = playerY;
+        enemies.savePrevious();
+        stars.savePrevious();
+
+        movePlayer(delta, moveX, moveY);
+
+        float playerW = config.playerWidth;
+        float playerH = config.playerHeight;
+        float playerCenterX = playerX + playerW / 2f;
+        float playerCenterY = playerY + playerH / 2f;
+        float enemyW = config.enemyWidth;
+        float enemyH = config.enemyHeight;
+
+        flowField.setTarget(flowField.tileOf(playerX, playerY, playerW));
+        flowField.update(config.flowFieldTilesPerTick);
+
+        enemySpawnTimer += delta;
+        if (enemySpawnTimer >= config.enemySpawnInterval) {
+            Enemy.spawn(enemies, random, walls, flowField, enemyW, enemyH, playerX, playerY,
+                    config.spawnWidth, config.spawnHeight);
+            enemySpawnTimer = 0;
+        }
+
+        enemyJob.delta = delta;
+        runJob(enemyJob, enemies.size);
+        rebuildEnemyHash();
+
+        float hitDistance = (playerW + enemyW) / 2 * 0.8f;
+        enemyHash.query(playerCenterX - hitDistance - enemyW / 2f, playerCenterY - hitDistance - enemyH / 2f,
+                hitDistance * 2 + enemyW, hitDistance * 2 + enemyH, candidates);
+        for (int c = 0; c < candidates.size; c++) {
+            int i = candidates.get(c);
+            float dx = enemies.x[i] + enemies.width[i] / 2f - playerCenterX;
+            float dy = enemies.y[i] + enemies.height[i] / 2f - playerCenterY;
+            if (dx * dx + dy * dy < hitDistance * hitDistance) {
+                status = Status.LOST;
+                return;
+            }
+        }
+
+        if (starHits.length < stars.size) starHits = new boolean[stars.x.length];
+        starJob.delta = delta;
+        runJob(starJob, stars.size);
+        Star.removeHits(stars, starHits);
+
+        // Stars are visited from the back so swap-removal only moves already-visited stars.
+        hitEnemies.clear();
+        if (enemyHits.length < enemies.size) enemyHits = new boolean[enemies.x.length];
+        for (int j = stars.size - 1; j >= 0; j--) {
+            enemyHash.query(stars.x[j], stars.y[j], stars.width[j], stars.height[j], candidates);
+            for (int c = 0; c < candidates.size; c++) {
+                int i = candidates.get(c);
+                if (enemyHits[i]) continue;
+                enemyHits[i] = true;
+                hitEnemies.add(i);
+                stars.remove(j);
+                break;
+            }
+        }
+        hitEnemies.sort();
+        for (int k = hitEnemies.size - 1; k >= 0; k--) {
+            int i = hitEnemies.get(k);
+            enemyHits[i] = false;
+            enemies.remove(i);
+        }
+        // Removal moves enemies to other indices, so the hash is rebuilt for queryEnemies().
+        if (hitEnemies.size > 0) rebuildEnemyHash();
+
+        playerRect.set(playerX, playerY, playerW, playerH);
+        if (playerRect.overlaps(goalBounds)) {
+            status = Status.REACHED_GOAL;
+        }
+    }
+
+    private void movePlayer(float delta, float moveX, float moveY) {
+        float length = (float) Math.sqrt(moveX * moveX + moveY * moveY);
+        if (length > 1) {
+            moveX /= length;
+            moveY /= length;
+        }
+
+        float width = config.playerWidth, height = config.playerHeight;
+        playerX += walls.sweepX(playerX, playerY, width, height, moveX * config.playerSpeed * delta);
+        playerY += walls.sweepY(playerX, playerY, width, height, moveY * config.playerSpeed * delta);
+    }
+
+    /**
+     * Collects the enemies whose bounds at the last tick overlap an area, using the broadphase
+     * built during the tick, so the cost follows the number of enemies found rather than the total.
+     * @param results Cleared and filled with dense enemy indices.
+     */
+    public void queryEnemies(float x, float y, float width, float height, IntArray results) {
+        if (hashedEnemies != enemies.size) rebuildEnemyHash();
+        enemyHash.query(x, y, width, height, results);
+    }
+
+    /**
+     * Rebuilds the state derived from entities and the player after WorldSnapshot replaced them.
+     * The flow field is searched to completion, even if the saved world was halfway through a search.
+     */
+    void restored() {
+        rebuildEnemyHash();
+        flowField.setTarget(flowField.tileOf(playerX, playerY, config.playerWidth));
+        flowField.finish();
+    }
+
+    private void rebuildEnemyHash() {
+        enemyHash.clear();
+        for (int i = 0; i < enemies.size; i++) {
+            enemyHash.insert(i, enemies.x[i], enemies.y[i], enemies.width[i], enemies.height[i]);
+        }
+        hashedEnemies = enemies.size;
+    }
+
+    /**
+     * Lets enemy and star movement run across several threads once there are enough of them.
+     * Results are identical to the serial path: each thread moves its own contiguous range, and
+     * spawns and removals happen afterwards on the calling thread.
+     * @param parallelUpdater Updater to split work with, or null to always run serially.
+     */
+    public void setParallelUpdater(ParallelUpdater parallelUpdater) {
+        this.parallelUpdater = parallelUpdater;
+    }
+
+    /**
+     * Times enemy steering, the largest per-entity job of a tick, on the calling thread against the
+     * updater's workers, and keeps the enemy count from which the workers are faster as the updater's
+     * threshold; see {@link ParallelUpdater#calibrate}. Meant for a world built for the purpose, once at
+     * startup: it fills the world with a wave of enemies spawned the usual way, then resets it.
+     * @param maxCount Largest wave to time.
+     * @return The threshold the updater now uses.
+     */
+    public int calibrate(ParallelUpdater updater, int maxCount) {
+        reset();
+        // Spawns that find no free spot add nothing, so the attempts are bounded rather than the count guaranteed.
+        for (int i = 0; i < maxCount * 2 && enemies.size < maxCount; i++) {
+            Enemy.spawn(enemies, random, walls, flowField, config.enemyWidth, config.enemyHeight, playerX, playerY,
+                    config.spawnWidth, config.spawnHeight);
+        }
+        enemyJob.delta = CALIBRATION_TICK;
+        int threshold = updater.calibrate(enemyJob, enemies.size);
+        reset();
+        return threshold;
+    }
+
+    private void runJob(ParallelUpdater.RangeJob job, int count) {
+        if (parallelUpdater != null) parallelUpdater.run(job, count);
+        else job.run(0, count);
+    }
+
+    /**
+     * @return Whether the run is still going, was lost to an enemy or reached the goal.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Number of ticks simulated so far.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Hashes everything a tick can change: the tick count, status, player, enemies, stars and spawn timer.
+     * Two runs that hash alike at the same tick have, for practical purposes, identical state.
+     */
+    public long stateHash() {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + tick;
+        hash = 31 * hash + status.ordinal();
+        hash = 31 * hash + Float.floatToIntBits(playerX);
+        hash = 31 * hash + Float.floatToIntBits(playerY);
+        hash = 31 * hash + Float.floatToIntBits(enemySpawnTimer);
+        hash = hashStore(hash, enemies);
+        return hashStore(hash, stars);
+    }
+
+    private static long hashStore(long hash, EntityStore store) {
+        hash = 31 * hash + store.size;
+        for (int i = 0; i < store.size; i++) {
+            hash = 31 * hash + Float.floatToIntBits(store.x[i]);
+            hash = 31 * hash + Float.floatToIntBits(store.y[i]);
+            hash = 31 * hash + Float.floatToIntBits(store.vx[i]);
+            hash = 31 * hash + Float.floatToIntBits(store.vy[i]);
+        }
+        return hash;
+    }
+
+    /** Enemy steering and movement over a range; reads the player position and flow field only. */
+    private final class EnemyJob implements ParallelUpdater.RangeJob {
+        float delta;
+
+        @Override
+        public void run(int from, int to) {
+            Enemy.update(enemies, walls, flowField, delta, playerX, playerY, from, to);
+        }
+    }
+
+    /** Star movement over a range; wall hits are flagged and removed by the caller afterwards. */
+    private final class StarJob implements ParallelUpdater.RangeJob {
+        float delta;
+
+        @Override
+        public void run(int from, int to) {
+            Star.move(stars, walls, delta, starHits, from, to);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.mygdx.game;
+
+/**
+ * Sizes and tuning values a {@link World} is built from.
+ * GameScreen fills it from the gameplay atlas; headless runs can use the defaults,
+ * which match the packed sprite sizes.
+ */
+public class WorldConfig {
+    /** World size; the player is kept inside it and stars die when they leave it. Defaults to the maze at 4x scale. */
+    public float worldWidth = 2432;
+    public float worldHeight = 1792;
+    /** Area around the player on whose edges enemies spawn, usually the screen size. */
+    public float spawnWidth = 640;
+    public float spawnHeight = 480;
+
+    public float playerWidth = 51;
+    public float playerHeight = 77;
+    public float playerSpeed = 200f;
+    /** Start position in the maze's large central hall, clear of walls. */
+    public float playerStartX = 768;
+    public float playerStartY = 1152;
+
+    public float enemyWidth = 51;
+    public float enemyHeight = 77;
+    public float enemySpawnInterval = 2f;
+    /** Tiles the enemy flow field expands per tick after the player changes tiles. */
+    public int flowFieldTilesPerTick = 256;
+
+    public float starWidth = 32;
+    public float starHeight = 31;
+
+    /** Goal position in the east wing, reachable from the start. */
+    public float goalX = 2176;
+    public float goalY = 832;
+    public float goalWidth = 154;
+    public float goalHeight = 154;
+
+    /** Seed of the world's random numbers; runs with the same seed and input play out identically. */
+    public long seed = 1;
+
+    /**
+     * Copies every value of another config.
+     * @return This config, for chaining.
+     */
+    public WorldConfig set(WorldConfig other) {
+        worldWidth = other.worldWidth;
+        worldHeight = other.worldHeight;
+        spawnWidth = other.spawnWidth;
+        spawnHeight = other.spawnHeight;
+        playerWidth = other.playerWidth;
+        playerHeight = other.playerHeight;
+        playerSpeed = other.playerSpeed;
+        playerStartX = other.playerStartX;
+        playerStartY = other.playerStartY;
+        enemyWidth = other.enemyWidth;
+        enemyHeight = other.enemyHeight;
+        enemySpawnInterval = other.enemySpawnInterval;
+        flowFieldTilesPerTick = other.flowFieldTilesPerTick;
+        starWidth = other.starWidth;
+        starHeight = other.starHeight;
+        goalX = other.goalX;
+        goalY = other.goalY;
+        goalWidth = other.goalWidth;
+        goalHeight = other.goalHeight;
+        seed = other.seed;
+        return this;
+    }
+}
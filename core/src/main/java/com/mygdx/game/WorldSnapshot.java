@@ -0,0 +1,188 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Saves the complete state of a {@link World} to a versioned binary snapshot and restores it:
+ * tick, status, player, spawn timer, random number state, and every enemy and star.
+ * Entity columns are copied in bulk between the {@link EntityStore} arrays and one reusable
+ * buffer, so saving and loading cost a few memory copies and allocate nothing per entity.
+ * The flow field is not stored; it is searched again from the restored player position.
+ * <p>
+ * Snapshots do not store the config or the walls, so they only load into a world built the same way.
+ */
+public class WorldSnapshot {
+    private static final int MAGIC = 0x4d5a534e; // "MZSN"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 2 + 8 + 1 + 5 * 4 + 2 * 8;
+    /** Columns stored per entity: x, y, vx, vy, width, height, prevX, prevY. */
+    private static final int ENTITY_BYTES = 8 * 4;
+    private static final World.Status[] STATUSES = World.Status.values();
+
+    private ByteBuffer buffer = allocate(64 * 1024);
+
+    /**
+     * Writes a world into the reusable buffer.
+     * @return The buffer, positioned at the start of the snapshot; valid until the next call.
+     */
+    public ByteBuffer write(World world) {
+        int size = HEADER_BYTES + 2 * 4 + (world.enemies.size + world.stars.size) * ENTITY_BYTES;
+        if (buffer.capacity() < size) buffer = allocate(Math.max(size, buffer.capacity() * 2));
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putLong(world.tick);
+        buffer.put((byte) world.status.ordinal());
+        buffer.putFloat(world.playerX);
+        buffer.putFloat(world.playerY);
+        buffer.putFloat(world.prevPlayerX);
+        buffer.putFloat(world.prevPlayerY);
+        buffer.putFloat(world.enemySpawnTimer);
+        buffer.putLong(world.random.getState(0));
+        buffer.putLong(world.random.getState(1));
+        writeStore(world.enemies);
+        writeStore(world.stars);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Replaces a world's state with a snapshot. The snapshot is checked before anything is read into
+     * the world, so a truncated or corrupt one throws and leaves the world as it was.
+     * @param snapshot Buffer positioned at the start of a snapshot; read up to its end.
+     * @throws GdxRuntimeException If the data is not a complete snapshot of this version.
+     */
+    public void read(ByteBuffer snapshot, World world) {
+        ByteOrder order = snapshot.order();
+        snapshot.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            validate(snapshot);
+            snapshot.position(snapshot.position() + 4 + 2);
+            world.tick = snapshot.getLong();
+            world.status = STATUSES[snapshot.get()];
+            world.playerX = snapshot.getFloat();
+            world.playerY = snapshot.getFloat();
+            world.prevPlayerX = snapshot.getFloat();
+            world.prevPlayerY = snapshot.getFloat();
+            world.enemySpawnTimer = snapshot.getFloat();
+            long state0 = snapshot.getLong();
+            world.random.setState(state0, snapshot.getLong());
+            readStore(snapshot, world.enemies);
+            readStore(snapshot, world.stars);
+        } finally {
+            snapshot.order(order);
+        }
+        world.restored();
+    }
+
+    /**
+     * Writes a snapshot of a world to a file through a channel.
+     */
+    public void save(World world, FileHandle file) {
+        ByteBuffer snapshot = write(world);
+        WritableByteChannel channel = Channels.newChannel(file.write(false));
+        try {
+            while (snapshot.hasRemaining()) channel.write(snapshot);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write snapshot " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(channel);
+        }
+    }
+
+    /**
+     * Restores a world from a snapshot file, read through a channel into the reusable buffer.
+     */
+    public void load(FileHandle file, World world) {
+        int size = (int) file.length();
+        if (buffer.capacity() < size) buffer = allocate(size);
+        buffer.clear();
+        buffer.limit(size);
+        ReadableByteChannel channel = Channels.newChannel(file.read());
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) throw new GdxRuntimeException("Truncated snapshot " + file);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot read snapshot " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(channel);
+        }
+        buffer.flip();
+        read(buffer, world);
+    }
+
+    /**
+     * Checks the header and that both stores' entities fit in the data, using absolute reads only.
+     */
+    private static void validate(ByteBuffer snapshot) {
+        int start = snapshot.position();
+        if (snapshot.remaining() < HEADER_BYTES) throw new GdxRuntimeException("Truncated snapshot header");
+        if (snapshot.getInt(start) != MAGIC) throw new GdxRuntimeException("Not a world snapshot");
+        int version = snapshot.getShort(start + 4);
+        if (version != VERSION) throw new GdxRuntimeException("Unsupported snapshot version " + version);
+        int status = snapshot.get(start + 4 + 2 + 8);
+        if (status < 0 || status >= STATUSES.length) throw new GdxRuntimeException("Invalid snapshot status " + status);
+        int position = start + HEADER_BYTES;
+        for (int store = 0; store < 2; store++) {
+            if (snapshot.limit() - position < 4) throw new GdxRuntimeException("Truncated snapshot");
+            int count = snapshot.getInt(position);
+            position += 4;
+            if (count < 0 || (long) count * ENTITY_BYTES > snapshot.limit() - position) {
+                throw new GdxRuntimeException("Truncated snapshot: " + count + " entities do not fit");
+            }
+            position += count * ENTITY_BYTES;
+        }
+    }
+
+    private void writeStore(EntityStore store) {
+        int count = store.size;
+        buffer.putInt(count);
+        putColumn(store.x, count);
+        putColumn(store.y, count);
+        putColumn(store.vx, count);
+        putColumn(store.vy, count);
+        putColumn(store.width, count);
+        putColumn(store.height, count);
+        putColumn(store.prevX, count);
+        putColumn(store.prevY, count);
+    }
+
+    private void putColumn(float[] column, int count) {
+        buffer.asFloatBuffer().put(column, 0, count);
+        buffer.position(buffer.position() + count * 4);
+    }
+
+    private static void readStore(ByteBuffer snapshot, EntityStore store) {
+        int count = snapshot.getInt();
+        store.clear();
+        // Adding allocates the slots and handles; the columns are then filled in bulk.
+        for (int i = 0; i < count; i++) store.add(0, 0, 0, 0);
+        getColumn(snapshot, store.x, count);
+        getColumn(snapshot, store.y, count);
+        getColumn(snapshot, store.vx, count);
+        getColumn(snapshot, store.vy, count);
+        getColumn(snapshot, store.width, count);
+        getColumn(snapshot, store.height, count);
+        getColumn(snapshot, store.prevX, count);
+        getColumn(snapshot, store.prevY, count);
+    }
+
+    private static void getColumn(ByteBuffer snapshot, float[] column, int count) {
+        snapshot.asFloatBuffer().get(column, 0, count);
+        snapshot.position(snapshot.position() + count * 4);
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
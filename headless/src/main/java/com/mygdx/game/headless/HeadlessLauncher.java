@@ -0,0 +1,25 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Launches the gameplay simulation without a window or GL context.
+ * Usage: HeadlessLauncher [ticks] [enemySpawnInterval]
+ * or: HeadlessLauncher replay file to play back a run recorded by the desktop launcher.
+ */
+public class HeadlessLauncher {
+    public static void main(String[] args) {
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        //// The runner drives the simulation itself, so the render loop does not need to be throttled.
+        configuration.updatesPerSecond = -1;
+        if (args.length > 1 && args[0].equals("replay")) {
+            new HeadlessApplication(new ReplayRunner(args[1]), configuration);
+            return;
+        }
+
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        float spawnInterval = args.length > 1 ? Float.parseFloat(args[1]) : 2f;
+        new HeadlessApplication(new SimulationRunner(ticks, spawnInterval), configuration);
+    }
+}
@@ -0,0 +1,52 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.mygdx.game.CollisionGrid;
+import com.mygdx.game.GameScreen;
+import com.mygdx.game.ReplayPlayer;
+import com.mygdx.game.TileMap;
+import com.mygdx.game.World;
+import com.mygdx.game.WorldConfig;
+
+import java.io.File;
+
+/**
+ * Plays a recorded run back as fast as possible and reports throughput.
+ * The state hash is checked at every checkpoint, so a build whose simulation diverged from the
+ * one that recorded the run fails instead of measuring a different workload.
+ */
+public class ReplayRunner extends ApplicationAdapter {
+    private final String path;
+
+    /**
+     * @param path Path of a recording made with --record, relative to the working directory or absolute.
+     */
+    public ReplayRunner(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public void create() {
+        ReplayPlayer replay = new ReplayPlayer(Gdx.files.absolute(new File(path).getAbsolutePath()));
+        WorldConfig config = new WorldConfig();
+        replay.configure(config);
+        FileHandle mapFile = Gdx.files.internal(GameScreen.MAP_FILE);
+        World world = new World(config,
+                CollisionGrid.fromMap(TileMap.load(mapFile), GameScreen.MAP_SCALE, GameScreen.WALL_LAYER));
+
+        int peakEnemies = 0, peakStars = 0;
+        long start = System.nanoTime();
+        while (replay.step(world)) {
+            peakEnemies = Math.max(peakEnemies, world.enemies.size);
+            peakStars = Math.max(peakStars, world.stars.size);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Gdx.app.log("Replay", String.format("%d ticks in %.1f ms (%.0f ticks/s), %d checkpoints matched, %s, peak %d enemies / %d stars",
+                world.getTick(), elapsed / 1e6, world.getTick() / (elapsed / 1e9), replay.getCheckpoints(),
+                world.getStatus(), peakEnemies, peakStars));
+        Gdx.app.exit();
+    }
+}
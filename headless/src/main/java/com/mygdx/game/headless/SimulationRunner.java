@@ -0,0 +1,148 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.mygdx.game.CollisionGrid;
+import com.mygdx.game.EntityStore;
+import com.mygdx.game.GameScreen;
+import com.mygdx.game.TileMap;
+import com.mygdx.game.World;
+import com.mygdx.game.WorldConfig;
+
+/**
+ * Runs the {@link World} simulation for a fixed number of ticks with a scripted player,
+ * checks world invariants after every tick and reports throughput.
+ * A run that ends (lost or goal reached) restarts the world in place. The maze's walls are
+ * used when the map is found in the working directory, otherwise the world is open.
+ */
+public class SimulationRunner extends ApplicationAdapter {
+    private static final float TICK = 1f / GameScreen.DEFAULT_TICK_RATE;
+    private static final int FIRE_EVERY_TICKS = 10;
+
+    private final int ticks;
+    private final WorldConfig config = new WorldConfig();
+
+    private CollisionGrid walls;
+    private World world;
+    private int runs;
+    private int peakEnemies;
+    private int peakStars;
+
+    /**
+     * @param ticks Number of simulation ticks to run in total.
+     * @param spawnInterval Seconds between enemy spawns; lower values build larger hordes.
+     */
+    public SimulationRunner(int ticks, float spawnInterval) {
+        this.ticks = ticks;
+        config.enemySpawnInterval = spawnInterval;
+    }
+
+    @Override
+    public void create() {
+        FileHandle mapFile = Gdx.files.internal(GameScreen.MAP_FILE);
+        if (mapFile.exists()) {
+            walls = CollisionGrid.fromMap(TileMap.load(mapFile), GameScreen.MAP_SCALE, GameScreen.WALL_LAYER);
+        } else {
+            Gdx.app.log("Simulation", "No map at " + mapFile.path() + ", running without walls");
+        }
+        world = walls != null ? new World(config, walls) : new World(config);
+        runs = 1;
+        run();
+        Gdx.app.exit();
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            step(tick);
+            String violation = checkInvariants(world);
+            if (violation != null) throw new GdxRuntimeException(violation);
+            if (world.getStatus() != World.Status.PLAYING) restart();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Gdx.app.log("Simulation", String.format("%d ticks in %.1f ms (%.0f ticks/s), %d runs, peak %d enemies / %d stars",
+                ticks, elapsed / 1e6, ticks / (elapsed / 1e9), runs, peakEnemies, peakStars));
+    }
+
+    private void restart() {
+        world.reset();
+        runs++;
+    }
+
+    private void step(int tick) {
+        step(world, tick);
+        peakEnemies = Math.max(peakEnemies, world.enemies.size);
+        peakStars = Math.max(peakStars, world.stars.size);
+    }
+
+    /**
+     * Simulates one tick with the scripted player: it walks in a slow circle and shoots at the nearest enemy.
+     * @param tick Ticks since the run started; drives the script.
+     */
+    static void step(World world, int tick) {
+        float angle = tick * TICK * 0.5f;
+        if (tick % FIRE_EVERY_TICKS == 0 && world.enemies.size > 0) {
+            int nearest = nearestEnemy(world);
+            world.fire(world.enemies.x[nearest] + world.enemies.width[nearest] / 2f,
+                    world.enemies.y[nearest] + world.enemies.height[nearest] / 2f);
+        }
+        world.update(TICK, (float) Math.cos(angle), (float) Math.sin(angle));
+    }
+
+    private static int nearestEnemy(World world) {
+        EntityStore enemies = world.enemies;
+        int nearest = 0;
+        float best = Float.MAX_VALUE;
+        for (int i = 0; i < enemies.size; i++) {
+            float dx = enemies.x[i] - world.playerX;
+            float dy = enemies.y[i] - world.playerY;
+            float distance = dx * dx + dy * dy;
+            if (distance < best) {
+                best = distance;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Checks what must hold after every tick: the player stays inside the world and out of walls,
+     * no position is NaN, every handle resolves to its own index, and no star outlives leaving the world.
+     * @return Description of the first broken invariant, or null if all hold.
+     */
+    static String checkInvariants(World world) {
+        WorldConfig config = world.config;
+        if (world.playerX < 0 || world.playerX > config.worldWidth - config.playerWidth
+                || world.playerY < 0 || world.playerY > config.worldHeight - config.playerHeight) {
+            return "Player left the world at tick " + world.getTick();
+        }
+        if (world.walls.overlaps(world.playerX, world.playerY, config.playerWidth, config.playerHeight)) {
+            return "Player inside a wall at tick " + world.getTick();
+        }
+        String violation = checkStore(world, "enemy", world.enemies);
+        if (violation == null) violation = checkStore(world, "star", world.stars);
+        if (violation != null) return violation;
+        EntityStore stars = world.stars;
+        for (int i = 0; i < stars.size; i++) {
+            if (stars.x[i] < 0 || stars.x[i] > config.worldWidth || stars.y[i] < 0 || stars.y[i] > config.worldHeight) {
+                return "Star outside the world survived tick " + world.getTick();
+            }
+        }
+        return null;
+    }
+
+    private static String checkStore(World world, String name, EntityStore store) {
+        for (int i = 0; i < store.size; i++) {
+            if (Float.isNaN(store.x[i]) || Float.isNaN(store.y[i])) {
+                return "NaN " + name + " position at tick " + world.getTick();
+            }
+            if (store.indexOf(store.handleAt(i)) != i) {
+                return "Stale " + name + " handle at tick " + world.getTick();
+            }
+        }
+        return null;
+    }
+}
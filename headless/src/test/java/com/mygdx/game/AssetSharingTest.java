@@ -0,0 +1,107 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.mygdx.game.headless.HeadlessTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Reference counting of {@link MyGdxGame#acquire} and {@link MyGdxGame#release}.
+ */
+public class AssetSharingTest {
+    private static final String TEXTURE = "exit.png";
+    private static final String OTHER_TEXTURE = "restart.png";
+
+    private MyGdxGame game;
+
+    @BeforeClass
+    public static void mockGraphics() {
+        HeadlessTestSupport.mockGraphics();
+    }
+
+    @Before
+    public void createAssets() {
+        game = new MyGdxGame();
+        game.assets = new AssetManager();
+    }
+
+    @After
+    public void disposeAssets() {
+        game.assets.dispose();
+    }
+
+    @Test
+    public void acquiringLoadedAssetCountsReferenceAtOnce() {
+        Texture first = game.acquire(TEXTURE, Texture.class);
+        Texture second = game.acquire(TEXTURE, Texture.class);
+
+        assertSame(first, second);
+        assertEquals(2, game.getReferenceCount(TEXTURE));
+        assertEquals(0, game.assets.getQueuedAssets());
+    }
+
+    @Test
+    public void releaseWhileSameAssetIsQueuedKeepsItLoaded() {
+        // A screen holds the asset while a loading screen queues it for the next one.
+        game.acquire(TEXTURE, Texture.class);
+        game.preload(TEXTURE, Texture.class);
+        // The first screen is disposed before the queue has been worked off.
+        game.release(TEXTURE);
+        game.assets.finishLoading();
+
+        assertTrue(game.assets.isLoaded(TEXTURE));
+        assertEquals(1, game.getReferenceCount(TEXTURE));
+        game.release(TEXTURE);
+        assertFalse(game.assets.isLoaded(TEXTURE));
+    }
+
+    @Test
+    public void releasingQueuedAssetCancelsItsLoad() {
+        game.preload(TEXTURE, Texture.class);
+        game.release(TEXTURE);
+        game.assets.finishLoading();
+
+        assertFalse(game.assets.isLoaded(TEXTURE));
+        assertEquals(0, game.getReferenceCount(TEXTURE));
+    }
+
+    @Test
+    public void acquireOnlyFinishesAssetsQueuedAhead() {
+        game.preload(TEXTURE, Texture.class);
+        game.preload(OTHER_TEXTURE, Texture.class);
+        game.acquire(TEXTURE, Texture.class);
+
+        assertFalse(game.assets.isLoaded(OTHER_TEXTURE));
+        game.assets.finishLoading();
+        game.release(OTHER_TEXTURE);
+        game.release(TEXTURE);
+        game.release(TEXTURE);
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void releasingMoreThanAcquiredThrows() {
+        game.acquire(TEXTURE, Texture.class);
+        game.release(TEXTURE);
+        game.release(TEXTURE);
+    }
+
+    @Test
+    public void assetStaysLoadedUntilLastRelease() {
+        game.acquire(TEXTURE, Texture.class);
+        game.acquire(TEXTURE, Texture.class);
+
+        game.release(TEXTURE);
+        assertTrue(game.assets.isLoaded(TEXTURE));
+        game.release(TEXTURE);
+        assertFalse(game.assets.isLoaded(TEXTURE));
+    }
+}
@@ -0,0 +1,60 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.mygdx.game.headless.HeadlessTestSupport;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Clip lengths read by {@link ClipDuration} against lengths measured with a decoder.
+ */
+public class ClipDurationTest {
+    @BeforeClass
+    public static void startApplication() {
+        HeadlessTestSupport.start();
+    }
+
+    @Test
+    public void wav() {
+        // 54163 stereo 16-bit frames at 44.1 kHz.
+        assertEquals(1.228f, ClipDuration.seconds(Gdx.files.internal(MyGdxGame.LOSE_SOUND)), 0.001f);
+    }
+
+    @Test
+    public void mp3() {
+        // 118 MPEG 1 frames of 1152 samples at 44.1 kHz.
+        assertEquals(3.082f, ClipDuration.seconds(Gdx.files.internal(MyGdxGame.SHOOT_SOUND)), 0.001f);
+    }
+
+    @Test
+    public void ogg() throws IOException {
+        File temp = File.createTempFile("clip", ".ogg");
+        temp.deleteOnExit();
+        FileHandle file = new FileHandle(temp);
+        ByteBuffer pages = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        // Identification header at 22.05 kHz, a page on which no packet ends, and the last page.
+        putPage(pages, 0, new byte[] {1, 'v', 'o', 'r', 'b', 'i', 's', 0, 0, 0, 0, 1, 0x22, 0x56, 0, 0, 0, 0});
+        putPage(pages, -1, new byte[20]);
+        putPage(pages, 33075, new byte[10]);
+        file.writeBytes(Arrays.copyOf(pages.array(), pages.position()), false);
+
+        assertEquals(1.5f, ClipDuration.seconds(file), 1e-6f);
+    }
+
+    private static void putPage(ByteBuffer pages, long granule, byte[] body) {
+        pages.put(new byte[] {'O', 'g', 'g', 'S', 0, 0});
+        pages.putLong(granule);
+        pages.put(new byte[12]);
+        pages.put((byte) 1).put((byte) body.length);
+        pages.put(body);
+    }
+}
@@ -0,0 +1,62 @@
+package com.mygdx.game;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CollisionGridTest {
+    private CollisionGrid grid;
+
+    @Before
+    public void createGrid() {
+        // 10 x 10 tiles of 16 units with a one-tile wall at column 5, rows 0 to 9.
+        grid = new CollisionGrid(10, 10, 16, 16);
+        for (int row = 0; row < 10; row++) grid.setSolid(5, row, true);
+    }
+
+    @Test
+    public void outsideTheGridIsSolid() {
+        assertTrue(grid.isSolid(-1, 0));
+        assertTrue(grid.isSolid(0, 10));
+        assertFalse(grid.isSolid(0, 0));
+    }
+
+    @Test
+    public void boxFlushAgainstWallDoesNotOverlap() {
+        assertFalse(grid.overlaps(64, 0, 16, 16));
+        assertTrue(grid.overlaps(65, 0, 16, 16));
+    }
+
+    @Test
+    public void sweepStopsFlushAgainstWall() {
+        assertEquals(14, grid.sweepX(50, 20, 16, 16, 40), 1e-4f);
+        assertEquals(-14, grid.sweepX(110, 20, 16, 16, -40), 1e-4f);
+    }
+
+    @Test
+    public void sweepInTheOpenMovesFully() {
+        assertEquals(30, grid.sweepY(10, 10, 16, 16, 30), 0);
+        assertEquals(-10, grid.sweepY(10, 10, 16, 16, -10), 0);
+    }
+
+    @Test
+    public void sweepStopsAtGridBorder() {
+        assertEquals(-10, grid.sweepY(10, 10, 16, 16, -100), 1e-4f);
+    }
+
+    @Test
+    public void fastRayCannotSkipThinWall() {
+        // A segment from column 0 to column 9 in one step must still hit the wall at column 5.
+        float t = grid.raycast(8, 40, 152, 40);
+        assertEquals((80 - 8) / 144f, t, 1e-5f);
+    }
+
+    @Test
+    public void clearRayAndRayStartingInWall() {
+        assertEquals(-1, grid.raycast(8, 8, 70, 150), 0);
+        assertEquals(0, grid.raycast(85, 40, 150, 40), 0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.mygdx.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class EntityStoreTest {
+    @Test
+    public void removeSwapsLastEntityIntoSlot() {
+        EntityStore store = new EntityStore(4);
+        store.add(0, 0, 1, 1);
+        store.add(10, 0, 1, 1);
+        int last = store.add(20, 0, 1, 1);
+
+        store.remove(0);
+
+        assertEquals(2, store.size);
+        assertEquals(20, store.x[0], 0);
+        assertEquals(10, store.x[1], 0);
+        assertEquals(0, store.indexOf(last));
+    }
+
+    @Test
+    public void handlesFollowMovedEntitiesAndExpireOnRemoval() {
+        EntityStore store = new EntityStore(4);
+        int[] handles = new int[100];
+        for (int i = 0; i < handles.length; i++) handles[i] = store.add(i, 0, 1, 1);
+        // Removes every even entity from the front, which moves entities from the back into the gaps.
+        for (int i = 0; i < handles.length; i += 2) store.remove(store.indexOf(handles[i]));
+
+        assertEquals(50, store.size);
+        for (int i = 0; i < handles.length; i++) {
+            int index = store.indexOf(handles[i]);
+            if (i % 2 == 0) {
+                assertEquals(-1, index);
+            } else {
+                assertEquals(i, store.x[index], 0);
+                assertEquals(handles[i], store.handleAt(index));
+            }
+        }
+    }
+
+    @Test
+    public void reusedSlotGetsNewHandle() {
+        EntityStore store = new EntityStore(4);
+        int first = store.add(1, 1, 1, 1);
+        store.remove(0);
+        int second = store.add(2, 2, 1, 1);
+
+        assertNotEquals(first, second);
+        assertEquals(-1, store.indexOf(first));
+        assertEquals(0, store.indexOf(second));
+    }
+
+    @Test
+    public void clearInvalidatesEveryHandle() {
+        EntityStore store = new EntityStore(4);
+        int a = store.add(1, 1, 1, 1);
+        int b = store.add(2, 2, 1, 1);
+        store.clear();
+
+        assertEquals(0, store.size);
+        assertEquals(-1, store.indexOf(a));
+        assertEquals(-1, store.indexOf(b));
+    }
+
+    @Test
+    public void integrateAppliesVelocity() {
+        EntityStore store = new EntityStore(4);
+        store.add(1, 2, 1, 1);
+        store.vx[0] = 10;
+        store.vy[0] = -20;
+        store.integrate(0.5f);
+
+        assertEquals(6, store.x[0], 0);
+        assertEquals(-8, store.y[0], 0);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.mygdx.game.headless.HeadlessTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * What {@link LoadingScreen#queue} starts decoding ahead of the asset manager.
+ */
+public class LoadingScreenTest {
+    private static final String TEXTURE = "exit.png";
+    private static final String ATLAS_PAGE = "atlas/buttons.png";
+
+    private MyGdxGame game;
+    private LoadingScreen loading;
+
+    @BeforeClass
+    public static void mockGraphics() {
+        HeadlessTestSupport.mockGraphics();
+    }
+
+    @Before
+    public void createGame() {
+        game = new MyGdxGame();
+        game.create();
+        loading = new LoadingScreen(game, new Runnable() {
+            @Override
+            public void run() {}
+        });
+    }
+
+    @After
+    public void dispose() {
+        loading.dispose();
+        game.dispose();
+    }
+
+    @Test
+    public void queuedAtlasPrefetchesItsPages() {
+        loading.queue(MyGdxGame.BUTTONS_ATLAS, TextureAtlas.class);
+
+        assertTrue(game.decoder.isPrefetched(ATLAS_PAGE));
+    }
+
+    @Test
+    public void loadedAssetIsNotPrefetchedAgain() {
+        game.acquire(TEXTURE, Texture.class);
+        loading.queue(TEXTURE, Texture.class);
+
+        assertFalse(game.decoder.isPrefetched(TEXTURE));
+        game.release(TEXTURE);
+    }
+}
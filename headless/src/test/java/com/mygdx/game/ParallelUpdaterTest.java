@@ -0,0 +1,93 @@
+package com.mygdx.game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A world updated on {@link ParallelUpdater}'s workers must evolve exactly like a serial one,
+ * and calibration must pick the threshold from how the job actually performs.
+ */
+public class ParallelUpdaterTest {
+    private static final float TICK = 1f / 60;
+
+    private final WorldConfig config = new WorldConfig();
+    private ParallelUpdater updater;
+
+    @Before
+    public void createUpdater() {
+        // A threshold of 0 splits every job, however few entities there are.
+        updater = new ParallelUpdater(4, 0);
+    }
+
+    @After
+    public void shutdown() {
+        updater.shutdown();
+    }
+
+    @Test
+    public void parallelWorldMatchesSerialWorld() {
+        config.enemySpawnInterval = 0.05f;
+        World serial = new World(config);
+        World parallel = new World(config);
+        parallel.setParallelUpdater(updater);
+
+        int peakEnemies = 0;
+        for (int tick = 0; tick < 3000; tick++) {
+            step(serial, tick);
+            step(parallel, tick);
+            assertEquals("State differs at tick " + serial.getTick(), serial.stateHash(), parallel.stateHash());
+            peakEnemies = Math.max(peakEnemies, serial.enemies.size);
+            if (serial.getStatus() != World.Status.PLAYING) {
+                serial.reset();
+                parallel.reset();
+            }
+        }
+        assertTrue("Enough enemies to split across workers", updater.isParallel(peakEnemies) && peakEnemies >= 16);
+    }
+
+    @Test
+    public void calibrationSplitsJobsThatOverlapOnWorkers() {
+        // Parking overlaps across workers even on a single core, so splitting wins from the smallest count.
+        int threshold = updater.calibrate(new ParallelUpdater.RangeJob() {
+            @Override
+            public void run(int from, int to) {
+                LockSupport.parkNanos((to - from) * 20000L);
+            }
+        }, 256);
+        assertEquals(64, threshold);
+        assertTrue(updater.isParallel(64));
+    }
+
+    @Test
+    public void singleWorkerCalibratesToSerial() {
+        ParallelUpdater single = new ParallelUpdater(1, 0);
+        try {
+            assertEquals(Integer.MAX_VALUE, new World(config).calibrate(single, 256));
+            assertTrue(!single.isParallel(100000));
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void worldCalibrationLeavesWorldReset() {
+        World world = new World(config);
+        long fresh = world.stateHash();
+        int threshold = world.calibrate(updater, 256);
+        assertEquals(threshold, updater.getThreshold());
+        assertEquals(fresh, world.stateHash());
+    }
+
+    private static void step(World world, int tick) {
+        if (tick % 15 == 0) {
+            world.fire(world.playerX + (float) Math.cos(tick) * 300, world.playerY + (float) Math.sin(tick) * 300);
+        }
+        world.update(TICK, (float) Math.cos(tick * 0.01f), (float) Math.sin(tick * 0.01f));
+    }
+}
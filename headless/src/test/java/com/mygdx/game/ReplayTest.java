@@ -0,0 +1,134 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Records runs with {@link ReplayRecorder} and plays them back with {@link ReplayPlayer}.
+ */
+public class ReplayTest {
+    private static final int TICK_RATE = 60;
+    private static final int TICKS = 1500;
+
+    private FileHandle file;
+    private long recordedHash;
+    private long recordedTicks;
+
+    @Before
+    public void record() throws IOException {
+        File temp = File.createTempFile("replay", ".bin");
+        temp.deleteOnExit();
+        file = new FileHandle(temp);
+
+        WorldConfig config = new WorldConfig();
+        config.seed = 1234;
+        config.enemySpawnInterval = 0.5f;
+        World world = new World(config);
+        ReplayRecorder recorder = new ReplayRecorder(file, world, TICK_RATE);
+        for (int tick = 0; tick < TICKS && world.getStatus() == World.Status.PLAYING; tick++) {
+            float angle = tick * 0.01f;
+            // Movement changes every 30 ticks, so most ticks have no move record.
+            float moveX = (float) Math.cos(angle - angle % 0.3f), moveY = (float) Math.sin(angle - angle % 0.3f);
+            if (tick % 10 == 0) {
+                float targetX = world.playerX + (float) Math.cos(tick) * 300, targetY = world.playerY + (float) Math.sin(tick) * 300;
+                recorder.fire(world, targetX, targetY);
+                world.fire(targetX, targetY);
+            }
+            recorder.move(world, moveX, moveY);
+            world.update(1f / TICK_RATE, moveX, moveY);
+            recorder.checkpoint(world);
+        }
+        recorder.close(world);
+        recordedHash = world.stateHash();
+        recordedTicks = world.getTick();
+    }
+
+    @Test
+    public void playbackReproducesRun() {
+        ReplayPlayer player = new ReplayPlayer(file);
+        WorldConfig config = new WorldConfig();
+        // Defaults that changed since the recording must not change the replayed workload.
+        config.enemySpawnInterval = 3f;
+        config.playerSpeed = 120f;
+        config.flowFieldTilesPerTick = 16;
+        config.enemyWidth = 20;
+        player.configure(config);
+        World world = new World(config);
+
+        while (player.step(world)) {
+            // Checkpoints are verified inside step().
+        }
+
+        assertTrue(player.isFinished());
+        assertEquals(TICK_RATE, player.getTickRate());
+        assertEquals(recordedTicks, world.getTick());
+        assertEquals(recordedHash, world.stateHash());
+        assertEquals(recordedTicks / ReplayRecorder.CHECKPOINT_TICKS, player.getCheckpoints());
+    }
+
+    @Test
+    public void divergedSimulationFailsAtCheckpoint() {
+        ReplayPlayer player = new ReplayPlayer(file);
+        WorldConfig config = new WorldConfig();
+        player.configure(config);
+        // A different spawn interval than the recorded run changes the simulation.
+        config.enemySpawnInterval = 0.75f;
+        World world = new World(config);
+        try {
+            while (player.step(world)) {
+                // Runs until the first mismatching checkpoint.
+            }
+            fail("Replay should have diverged");
+        } catch (GdxRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Replay diverged at tick"));
+        }
+        assertTrue(player.isFinished());
+        assertFalse(player.step(world));
+    }
+
+    @Test
+    public void otherWallsAreRejected() {
+        ReplayPlayer player = new ReplayPlayer(file);
+        WorldConfig config = new WorldConfig();
+        player.configure(config);
+        CollisionGrid walls = CollisionGrid.open(config.worldWidth, config.worldHeight, 64f);
+        walls.setSolid(5, 5, true);
+        World world = new World(config, walls);
+        try {
+            player.step(world);
+            fail("Replay should have been rejected");
+        } catch (GdxRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Replay was recorded with other walls"));
+        }
+        assertTrue(player.isFinished());
+    }
+
+    @Test
+    public void truncatedRecordingEndsAfterLastCompleteRecord() {
+        byte[] bytes = file.readBytes();
+        FileHandle truncated = file.sibling(file.nameWithoutExtension() + "-truncated.bin");
+        truncated.file().deleteOnExit();
+        truncated.writeBytes(Arrays.copyOf(bytes, bytes.length / 2), false);
+
+        ReplayPlayer player = new ReplayPlayer(truncated);
+        WorldConfig config = new WorldConfig();
+        player.configure(config);
+        World world = new World(config);
+        while (player.step(world)) {
+            // Checkpoints before the cut still have to match.
+        }
+        assertTrue(world.getTick() > 0);
+        assertTrue(world.getTick() < recordedTicks);
+    }
+}
@@ -0,0 +1,119 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+import com.mygdx.game.headless.HeadlessTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the whole game through the death and restart cycle the player sees: a run is lost, the
+ * game over screen comes up and its restart button starts the next run. Assets and heap in use
+ * must stay flat however many times that happens.
+ */
+public class RestartSoakTest {
+    private static final int RESTARTS = 1000;
+    /** Heap growth over the soak that counts as a leak. */
+    private static final long MAX_HEAP_GROWTH = 4L << 20;
+    private static final int MAX_LOADING_FRAMES = 1000;
+
+    private MyGdxGame game;
+
+    @BeforeClass
+    public static void mockGraphics() {
+        HeadlessTestSupport.mockGraphics();
+    }
+
+    @Before
+    public void startFirstRun() {
+        game = new MyGdxGame();
+        game.create();
+        renderUntil(MainMenuScreen.class);
+        game.startGame();
+        renderUntil(GameScreen.class);
+    }
+
+    @After
+    public void dispose() {
+        game.dispose();
+    }
+
+    @Test
+    public void restartsKeepAssetsAndHeapFlat() {
+        GameScreen gameScreen = (GameScreen) game.getScreen();
+        // Settles whatever the first pass through the game over screen allocates once, such as layout.
+        dieAndRestart(gameScreen);
+        Array<String> assets = loadedAssets();
+        int[] references = referenceCounts(assets);
+        long heap = usedHeap();
+
+        for (int restart = 0; restart < RESTARTS; restart++) dieAndRestart(gameScreen);
+
+        assertEquals(0, game.assets.getQueuedAssets());
+        assertEquals(assets.size, game.assets.getLoadedAssets());
+        assertEquals(assets, loadedAssets());
+        for (int i = 0; i < assets.size; i++) {
+            assertEquals(assets.get(i), references[i], game.getReferenceCount(assets.get(i)));
+        }
+        long growth = usedHeap() - heap;
+        assertTrue("Heap grew by " + (growth >> 10) + " KB over " + RESTARTS + " restarts", growth < MAX_HEAP_GROWTH);
+    }
+
+    @Test
+    public void endingRunLoadsNothing() {
+        GameScreen gameScreen = (GameScreen) game.getScreen();
+        Array<String> assets = loadedAssets();
+
+        gameScreen.getWorld().status = World.Status.LOST;
+        game.render();
+        assertTrue(game.getScreen() instanceof GameOverScreen);
+        game.showMiniGame();
+        game.render();
+
+        assertEquals(0, game.assets.getQueuedAssets());
+        assertEquals(assets, loadedAssets());
+    }
+
+    private void dieAndRestart(GameScreen gameScreen) {
+        gameScreen.getWorld().status = World.Status.LOST;
+        game.render();
+        assertTrue(game.getScreen() instanceof GameOverScreen);
+        game.render();
+        // What the restart button does.
+        game.startGame();
+        assertSame(gameScreen, game.getScreen());
+        game.render();
+        assertEquals(World.Status.PLAYING, gameScreen.getWorld().getStatus());
+    }
+
+    private void renderUntil(Class<? extends Screen> type) {
+        for (int frame = 0; frame < MAX_LOADING_FRAMES && !type.isInstance(game.getScreen()); frame++) game.render();
+        assertTrue("Expected " + type.getSimpleName() + ", got " + game.getScreen(), type.isInstance(game.getScreen()));
+    }
+
+    private Array<String> loadedAssets() {
+        Array<String> names = game.assets.getAssetNames();
+        names.sort();
+        return names;
+    }
+
+    private int[] referenceCounts(Array<String> assets) {
+        int[] counts = new int[assets.size];
+        for (int i = 0; i < assets.size; i++) counts[i] = game.getReferenceCount(assets.get(i));
+        return counts;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        // One collection may leave garbage that only becomes unreachable through finalization, so collect twice.
+        System.gc();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
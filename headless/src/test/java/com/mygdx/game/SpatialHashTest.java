@@ -0,0 +1,63 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.utils.IntArray;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpatialHashTest {
+    private final SpatialHash hash = new SpatialHash(10, 16);
+    private final IntArray results = new IntArray();
+
+    @Test
+    public void queryReturnsOnlyOverlappingItems() {
+        hash.insert(0, 0, 0, 5, 5);
+        hash.insert(1, 100, 100, 5, 5);
+        hash.insert(2, 3, 3, 5, 5);
+
+        hash.query(0, 0, 4, 4, results);
+
+        assertEquals(2, results.size);
+        assertTrue(results.contains(0));
+        assertTrue(results.contains(2));
+    }
+
+    @Test
+    public void itemSpanningCellsIsReportedOnce() {
+        hash.insert(7, 5, 5, 40, 40);
+
+        hash.query(0, 0, 100, 100, results);
+
+        assertEquals(1, results.size);
+        assertEquals(7, results.get(0));
+    }
+
+    @Test
+    public void touchingEdgesDoNotOverlap() {
+        hash.insert(0, 10, 0, 10, 10);
+
+        hash.query(0, 0, 10, 10, results);
+
+        assertEquals(0, results.size);
+    }
+
+    @Test
+    public void negativeCoordinatesAreHashed() {
+        hash.insert(3, -25, -25, 5, 5);
+
+        hash.query(-30, -30, 10, 10, results);
+
+        assertEquals(1, results.size);
+    }
+
+    @Test
+    public void clearRemovesEveryItem() {
+        for (int i = 0; i < 1000; i++) hash.insert(i, i % 50, i / 50, 1, 1);
+        hash.clear();
+
+        hash.query(-100, -100, 1000, 1000, results);
+
+        assertEquals(0, results.size);
+    }
+}
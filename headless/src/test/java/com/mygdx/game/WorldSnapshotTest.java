@@ -0,0 +1,131 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Round-trips worlds through {@link WorldSnapshot}: a restored world must continue exactly like the original.
+ */
+public class WorldSnapshotTest {
+    private static final float TICK = 1f / 60;
+    /** Layout of the snapshot header: magic, version, tick, then the status byte; the enemy count follows the header. */
+    private static final int STATUS_OFFSET = 4 + 2 + 8;
+    private static final int HEADER_BYTES = STATUS_OFFSET + 1 + 5 * 4 + 2 * 8;
+
+    private final WorldConfig config = new WorldConfig();
+    private World world;
+
+    @Before
+    public void playForAWhile() {
+        config.enemySpawnInterval = 0.25f;
+        world = new World(config);
+        for (int tick = 0; tick < 600; tick++) step(world, tick);
+        assertTrue("The snapshot should hold entities", world.enemies.size > 0 && world.stars.size > 0);
+    }
+
+    @Test
+    public void restoredWorldContinuesIdentically() {
+        WorldSnapshot snapshot = new WorldSnapshot();
+        ByteBuffer buffer = snapshot.write(world);
+        World restored = new World(config);
+        snapshot.read(buffer, restored);
+
+        assertEquals(world.stateHash(), restored.stateHash());
+        assertContinuesLike(world, restored, 600);
+    }
+
+    @Test
+    public void fileRoundTrip() throws IOException {
+        File temp = File.createTempFile("snapshot", ".bin");
+        temp.deleteOnExit();
+        FileHandle file = new FileHandle(temp);
+
+        new WorldSnapshot().save(world, file);
+        World restored = new World(config);
+        new WorldSnapshot().load(file, restored);
+
+        assertEquals(world.stateHash(), restored.stateHash());
+        assertContinuesLike(world, restored, 600);
+    }
+
+    @Test
+    public void handlesAreValidAfterRestore() {
+        WorldSnapshot snapshot = new WorldSnapshot();
+        World restored = new World(config);
+        snapshot.read(snapshot.write(world), restored);
+
+        for (int i = 0; i < restored.enemies.size; i++) {
+            assertEquals(i, restored.enemies.indexOf(restored.enemies.handleAt(i)));
+        }
+    }
+
+    @Test
+    public void truncatedSnapshotLeavesWorldUntouched() {
+        ByteBuffer buffer = new WorldSnapshot().write(world);
+        // Cuts into the stars, after the header and the enemies would already have been read.
+        buffer.limit(buffer.limit() - 4);
+        assertRejected(buffer);
+    }
+
+    @Test
+    public void truncatedHeaderLeavesWorldUntouched() {
+        ByteBuffer buffer = new WorldSnapshot().write(world);
+        buffer.limit(10);
+        assertRejected(buffer);
+    }
+
+    @Test
+    public void negativeCountLeavesWorldUntouched() {
+        ByteBuffer buffer = new WorldSnapshot().write(world);
+        buffer.putInt(HEADER_BYTES, -1);
+        assertRejected(buffer);
+    }
+
+    @Test
+    public void invalidStatusLeavesWorldUntouched() {
+        ByteBuffer buffer = new WorldSnapshot().write(world);
+        buffer.put(STATUS_OFFSET, (byte) World.Status.values().length);
+        assertRejected(buffer);
+    }
+
+    /**
+     * Reads a bad snapshot into a played world, which must throw and keep its state.
+     */
+    private void assertRejected(ByteBuffer buffer) {
+        World target = new World(config);
+        for (int tick = 0; tick < 60; tick++) step(target, tick);
+        long hash = target.stateHash();
+        try {
+            new WorldSnapshot().read(buffer, target);
+            fail("Expected the snapshot to be rejected");
+        } catch (GdxRuntimeException expected) {
+            assertEquals(hash, target.stateHash());
+        }
+    }
+
+    private static void assertContinuesLike(World expected, World actual, int ticks) {
+        long start = expected.getTick();
+        for (int tick = 0; tick < ticks; tick++) {
+            step(expected, (int) start + tick);
+            step(actual, (int) start + tick);
+            assertEquals("State differs at tick " + expected.getTick(), expected.stateHash(), actual.stateHash());
+        }
+    }
+
+    private static void step(World world, int tick) {
+        if (tick % 15 == 0) {
+            world.fire(world.playerX + (float) Math.cos(tick) * 300, world.playerY + (float) Math.sin(tick) * 300);
+        }
+        world.update(TICK, (float) Math.cos(tick * 0.01f), (float) Math.sin(tick * 0.01f));
+    }
+}
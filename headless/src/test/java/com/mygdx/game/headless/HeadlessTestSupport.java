@@ -0,0 +1,101 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * Starts one headless application for all tests of a run, so Gdx.files, Gdx.app and the natives
+ * are available. Tests drive their code themselves on the test thread; the application's own
+ * listener does nothing.
+ */
+public final class HeadlessTestSupport {
+    /** Delta time every frame reports once graphics are mocked. */
+    public static final float FRAME_TIME = 1f / 30;
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 480;
+
+    private HeadlessTestSupport() {}
+
+    /**
+     * Starts the application unless an earlier test already did.
+     */
+    public static synchronized void start() {
+        if (Gdx.app != null) return;
+        new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+    }
+
+    /**
+     * Starts the application and replaces GL with a mock, so screens, sprite batches and textures can
+     * be created and drawn without a GPU. Graphics report a window size and a fixed frame time, so
+     * code that lays out or steps per frame behaves the same on every run.
+     */
+    public static synchronized void mockGraphics() {
+        start();
+        if (Gdx.gl != null) return;
+        Gdx.gl = Gdx.gl20 = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class},
+                new MockGL());
+        Gdx.graphics = new MockGraphics() {
+            @Override
+            public int getWidth() {
+                return WIDTH;
+            }
+
+            @Override
+            public int getHeight() {
+                return HEIGHT;
+            }
+
+            @Override
+            public int getBackBufferWidth() {
+                return WIDTH;
+            }
+
+            @Override
+            public int getBackBufferHeight() {
+                return HEIGHT;
+            }
+
+            @Override
+            public float getDeltaTime() {
+                return FRAME_TIME;
+            }
+        };
+    }
+
+    /**
+     * GL that does nothing. Objects get fresh non-zero names and shaders compile and link,
+     * since libGDX treats a zero name or a failed status as an error.
+     */
+    private static final class MockGL implements InvocationHandler {
+        private int nextName = 1;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                int parameter = (Integer) args[1];
+                boolean status = parameter == GL20.GL_COMPILE_STATUS || parameter == GL20.GL_LINK_STATUS;
+                ((IntBuffer) args[2]).put(0, status ? 1 : 0);
+                return null;
+            }
+            if (name.startsWith("glGen") || name.startsWith("glCreate")) {
+                if (method.getReturnType() == int.class) return nextName++;
+            }
+            Class<?> type = method.getReturnType();
+            if (type == int.class) return 0;
+            if (type == boolean.class) return false;
+            if (type == float.class) return 0f;
+            if (type == String.class) return "";
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.mygdx.game.CollisionGrid;
+import com.mygdx.game.GameScreen;
+import com.mygdx.game.TileMap;
+import com.mygdx.game.World;
+import com.mygdx.game.WorldConfig;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the simulation in the maze with {@link SimulationRunner}'s scripted player: its invariants
+ * must hold after every tick, and a tick must stay fast enough.
+ */
+public class SimulationRunnerTest {
+    private static CollisionGrid walls;
+
+    private final WorldConfig config = new WorldConfig();
+    private World world;
+
+    @BeforeClass
+    public static void loadMaze() {
+        HeadlessTestSupport.start();
+        FileHandle mapFile = Gdx.files.internal(GameScreen.MAP_FILE);
+        walls = CollisionGrid.fromMap(TileMap.load(mapFile), GameScreen.MAP_SCALE, GameScreen.WALL_LAYER);
+    }
+
+    @Before
+    public void createWorld() {
+        // Frequent spawns build a horde, so collisions and removals are exercised too.
+        config.enemySpawnInterval = 0.25f;
+        world = new World(config, walls);
+    }
+
+    @Test
+    public void invariantsHoldEveryTick() {
+        int runs = 1;
+        for (int tick = 0; tick < 20000; tick++) {
+            SimulationRunner.step(world, tick);
+            assertNull(SimulationRunner.checkInvariants(world));
+            if (world.getStatus() != World.Status.PLAYING) {
+                world.reset();
+                runs++;
+            }
+        }
+        assertTrue("The scripted player should end some runs", runs > 1);
+    }
+
+    @Test
+    public void throughputAboveFloor() {
+        float floor = Float.parseFloat(System.getProperty("minTicksPerSecond", "20000"));
+        // Warms the JIT up, so the measurement sees compiled code.
+        runTicks(20000);
+        int ticks = 60000;
+        long start = System.nanoTime();
+        runTicks(ticks);
+        double ticksPerSecond = ticks / ((System.nanoTime() - start) / 1e9);
+        assertTrue(String.format("%.0f ticks/s, expected at least %.0f", ticksPerSecond, floor), ticksPerSecond >= floor);
+    }
+
+    private void runTicks(int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            SimulationRunner.step(world, tick);
+            if (world.getStatus() != World.Status.PLAYING) world.reset();
+        }
+    }
+}
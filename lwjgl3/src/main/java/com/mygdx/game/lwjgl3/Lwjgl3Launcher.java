@@ -1,18 +1,72 @@
 package com.mygdx.game.lwjgl3;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.mygdx.game.MainMenuScreen;
 import com.mygdx.game.MyGdxGame;
 
-/** Launches the desktop (LWJGL3) application. */
+import java.io.File;
+
+/**
+ * Launches the desktop (LWJGL3) application.
+ * Usage: Lwjgl3Launcher [--record file | --replay file] to record each run's input, or to play a recording back.
+ * --exit-after frames quits once the main menu has drawn that many frames; the cdsArchive Gradle task uses it
+ * for its training run. --parallel-threshold count sets the enemy count from which updates are split across
+ * cores, e.g. as measured with ParallelUpdateBenchmark; without it the game calibrates one when the first run loads.
+ * A startup timeline up to the main menu's first frame is logged on every launch.
+ */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.mark("main()");
+        createApplication(args, timeline);
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new MyGdxGame(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(String[] args, final StartupTimeline timeline) {
+        int exitAfter = -1;
+        int parallelThreshold = -1;
+        String recordPath = null, replayPath = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--record")) recordPath = new File(args[i + 1]).getAbsolutePath();
+            else if (args[i].equals("--replay")) replayPath = new File(args[i + 1]).getAbsolutePath();
+            else if (args[i].equals("--exit-after")) exitAfter = Integer.parseInt(args[i + 1]);
+            else if (args[i].equals("--parallel-threshold")) parallelThreshold = Integer.parseInt(args[i + 1]);
+            else throw new IllegalArgumentException("Unknown option " + args[i]);
+        }
+        final int menuFrames = exitAfter;
+        MyGdxGame game = new MyGdxGame() {
+            private boolean firstFrame = true;
+            private boolean menuShown;
+            private int menuFrame;
+
+            @Override
+            public void create() {
+                timeline.mark("create() start");
+                super.create();
+                timeline.mark("create() end");
+            }
+
+            @Override
+            public void render() {
+                super.render();
+                if (firstFrame) {
+                    firstFrame = false;
+                    timeline.mark("first frame");
+                }
+                if (!menuShown && getScreen() instanceof MainMenuScreen) {
+                    menuShown = true;
+                    timeline.mark("first menu frame");
+                    timeline.log();
+                }
+                if (menuShown && menuFrames > 0 && ++menuFrame == menuFrames) Gdx.app.exit();
+            }
+        };
+        game.recordPath = recordPath;
+        game.replayPath = replayPath;
+        game.parallelThreshold = parallelThreshold;
+        return new Lwjgl3Application(game, getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
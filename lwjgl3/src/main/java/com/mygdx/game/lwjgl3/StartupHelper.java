@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.InputStreamReader;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Adds some utilities to ensure that the JVM was started with the
@@ -115,7 +116,14 @@ public class StartupHelper {
         jvmArgs.add(javaExecPath);
         jvmArgs.add("-XstartOnFirstThread");
         jvmArgs.add("-D" + JVM_RESTARTED_ARG + "=true");
-        jvmArgs.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        List<String> inputArgs = ManagementFactory.getRuntimeMXBean().getInputArguments();
+        jvmArgs.addAll(inputArgs);
+        // The restart is paid for anyway, so it may as well map in the class-data archive the cdsArchive task builds.
+        File archive = getSharedArchive();
+        if (archive != null && !hasSharedArchiveArg(inputArgs)) {
+            jvmArgs.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+            jvmArgs.add("-Xshare:auto");
+        }
         jvmArgs.add("-cp");
         jvmArgs.add(System.getProperty("java.class.path"));
         String mainClass = System.getenv("JAVA_MAIN_CLASS_" + pid);
@@ -155,6 +163,33 @@ public class StartupHelper {
         return true;
     }
 
+    /**
+     * Returns the class-data sharing archive next to the application jar, named
+     * like the jar with a {@code .jsa} extension, as written by the
+     * {@code cdsArchive} Gradle task. The archive only matches the jar it was
+     * trained with, so it is not looked for when running from class folders.
+     *
+     * @return the archive, or null if the application does not run from a
+     *         single jar or no archive exists beside it
+     */
+    public static File getSharedArchive() {
+        String classPath = System.getProperty("java.class.path");
+        if (classPath.contains(File.pathSeparator) || !classPath.endsWith(".jar")) {
+            return null;
+        }
+        File archive = new File(classPath.substring(0, classPath.length() - ".jar".length()) + ".jsa");
+        return archive.isFile() ? archive : null;
+    }
+
+    static boolean hasSharedArchiveArg(List<String> inputArgs) {
+        for (String arg : inputArgs) {
+            if (arg.startsWith("-XX:SharedArchiveFile=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Starts a new JVM if the application was started on macOS without the
      * {@code -XstartOnFirstThread} argument. Returns whether a new JVM was
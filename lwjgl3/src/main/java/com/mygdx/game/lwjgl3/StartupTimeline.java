@@ -0,0 +1,48 @@
+package com.mygdx.game.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.ArrayList;
+
+/**
+ * Records startup milestones as milliseconds since the JVM started and logs them as one timeline.
+ * The JVM start time comes from the runtime MXBean, so the first milestone already includes JVM boot
+ * and the class loading before main(), which is what a class-data sharing archive cuts down.
+ * The log only says whether an archive was requested on the command line: with -Xshare:auto the JVM
+ * quietly runs without one that does not match, which -Xshare:on or -Xlog:cds would reveal.
+ */
+public class StartupTimeline {
+    private final long jvmStart;
+    private final boolean sharedArchiveRequested;
+    private final ArrayList<String> names = new ArrayList<>();
+    private final ArrayList<Long> times = new ArrayList<>();
+
+    public StartupTimeline() {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        jvmStart = runtime.getStartTime();
+        sharedArchiveRequested = StartupHelper.hasSharedArchiveArg(runtime.getInputArguments());
+    }
+
+    /**
+     * Records a milestone at the current time.
+     */
+    public void mark(String name) {
+        names.add(name);
+        times.add(System.currentTimeMillis() - jvmStart);
+    }
+
+    /**
+     * Logs every milestone with its time since JVM start and since the previous milestone.
+     */
+    public void log() {
+        Gdx.app.log("Startup", "JVM start (class-data archive " + (sharedArchiveRequested ? "requested" : "not requested") + ")");
+        long previous = 0;
+        for (int i = 0; i < names.size(); i++) {
+            long time = times.get(i);
+            Gdx.app.log("Startup", String.format("%-20s %6d ms  (+%d ms)", names.get(i), time, time - previous));
+            previous = time;
+        }
+    }
+}